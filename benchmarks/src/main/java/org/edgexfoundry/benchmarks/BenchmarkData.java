@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.benchmarks;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import org.edgexfoundry.domain.meta.Addressable;
+import org.edgexfoundry.domain.meta.Device;
+import org.edgexfoundry.domain.meta.DeviceProfile;
+import org.edgexfoundry.domain.meta.DeviceService;
+import org.edgexfoundry.meta.client.ConsulDiscoveryClientTemplate;
+import org.edgexfoundry.test.data.AddressableData;
+import org.edgexfoundry.test.data.DeviceData;
+import org.edgexfoundry.test.data.ProfileData;
+import org.edgexfoundry.test.data.ServiceData;
+
+final class BenchmarkData {
+
+  static final String DEVICE_PATH = "/api/v1/device";
+  static final String PROFILE_PATH = "/api/v1/deviceprofile";
+
+  private BenchmarkData() {}
+
+  static DeviceProfile profile(String id) {
+    DeviceProfile profile = ProfileData.newTestInstance();
+    profile.setId(id);
+    return profile;
+  }
+
+  /**
+   * Returns a device as core-metadata sends it, with its profile, service and addressable
+   * embedded.
+   */
+  static Device device(String id) {
+    Addressable addressable = AddressableData.newTestInstance();
+    addressable.setId(id + "-addressable");
+    DeviceService service = ServiceData.newTestInstance();
+    service.setId(id + "-service");
+    service.setAddressable(addressable);
+    Device device = DeviceData.newTestInstance();
+    device.setId(id);
+    device.setName(device.getName() + "-" + id);
+    device.setAddressable(addressable);
+    device.setService(service);
+    device.setProfile(profile(id + "-profile"));
+    return device;
+  }
+
+  // the clients take their URL from Spring, which is not there in a benchmark
+  static void setField(Class<?> type, Object target, String name, Object value) {
+    try {
+      Field field = type.getDeclaredField(name);
+      field.setAccessible(true);
+      field.set(target, value);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Cannot set " + name + " on " + type.getName(), e);
+    }
+  }
+
+  // closes the connection pools of a client, as Spring would on shutdown
+  static void close(Object client) {
+    invoke(ConsulDiscoveryClientTemplate.class, client, "closeClient");
+  }
+
+  // runs a private lifecycle method such as a @PostConstruct, which Spring would otherwise call
+  static void invoke(Class<?> type, Object target, String name) {
+    try {
+      Method method = type.getDeclaredMethod(name);
+      method.setAccessible(true);
+      method.invoke(target);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Cannot call " + name + " on " + type.getName(), e);
+    }
+  }
+
+}
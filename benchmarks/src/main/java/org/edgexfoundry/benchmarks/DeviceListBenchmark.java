@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.codehaus.jackson.map.DeserializationConfig;
+import org.edgexfoundry.controller.DeviceClient;
+import org.edgexfoundry.controller.StreamingDeviceClient;
+import org.edgexfoundry.controller.impl.DeviceClientImpl;
+import org.edgexfoundry.controller.impl.StreamingDeviceClientImpl;
+import org.edgexfoundry.domain.meta.Device;
+import org.edgexfoundry.meta.client.ObjectMapperResolver;
+import org.edgexfoundry.test.stub.StubMetadataServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Binding of devices() responses of 1k, 10k and 100k devices, each embedding its profile, service
+ * and addressable. jackson1 is the binding the client used before, reflective a plain Jackson 2
+ * mapper reused across calls, perCall a plain Jackson 2 mapper built for each call, shared the
+ * mapper the client now uses, devices() the complete call against the stub server and
+ * streamedDevices() the same call through StreamingDeviceClient, which never holds the whole
+ * list. Run with -prof gc to compare allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DeviceListBenchmark {
+
+  private static final TypeReference<List<Device>> DEVICES = new TypeReference<List<Device>>() {};
+  private static final org.codehaus.jackson.type.TypeReference<List<Device>> JACKSON1_DEVICES =
+      new org.codehaus.jackson.type.TypeReference<List<Device>>() {};
+
+  @Param({"1000", "10000", "100000"})
+  private int size;
+
+  private final org.codehaus.jackson.map.ObjectMapper jackson1 =
+      new org.codehaus.jackson.map.ObjectMapper()
+          .configure(DeserializationConfig.Feature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+  private final ObjectMapper reflective =
+      new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+  private final ObjectMapper shared = ObjectMapperResolver.mapper();
+  private byte[] payload;
+  private StubMetadataServer server;
+  private DeviceClient client;
+  private StreamingDeviceClient streaming;
+
+  @Setup
+  public void setup() throws IOException {
+    List<Device> devices = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      devices.add(BenchmarkData.device("device-" + i));
+    }
+    payload = shared.writeValueAsBytes(devices);
+    server = new StubMetadataServer();
+    server.start();
+    server.respond("GET", BenchmarkData.DEVICE_PATH, 200,
+        new String(payload, StandardCharsets.UTF_8));
+    client = new DeviceClientImpl();
+    BenchmarkData.setField(DeviceClientImpl.class, client, "url",
+        server.getUrl(BenchmarkData.DEVICE_PATH));
+    streaming = new StreamingDeviceClientImpl();
+    BenchmarkData.setField(StreamingDeviceClientImpl.class, streaming, "url",
+        server.getUrl(BenchmarkData.DEVICE_PATH));
+  }
+
+  @TearDown
+  public void tearDown() {
+    BenchmarkData.close(client);
+    BenchmarkData.close(streaming);
+    server.stop();
+  }
+
+  @Benchmark
+  public List<Device> jackson1() throws IOException {
+    return jackson1.readValue(payload, JACKSON1_DEVICES);
+  }
+
+  @Benchmark
+  public List<Device> reflective() throws IOException {
+    return reflective.readValue(payload, DEVICES);
+  }
+
+  @Benchmark
+  public List<Device> perCall() throws IOException {
+    return new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        .readValue(payload, DEVICES);
+  }
+
+  @Benchmark
+  public List<Device> shared() throws IOException {
+    return shared.readValue(payload, DEVICES);
+  }
+
+  @Benchmark
+  public List<Device> devices() {
+    return client.devices();
+  }
+
+  @Benchmark
+  public long streamedDevices() {
+    try (Stream<Device> devices = streaming.devices()) {
+      return devices.count();
+    }
+  }
+
+}
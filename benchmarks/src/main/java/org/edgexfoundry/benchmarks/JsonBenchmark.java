@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.edgexfoundry.domain.meta.Device;
+import org.edgexfoundry.domain.meta.DeviceProfile;
+import org.edgexfoundry.meta.client.ObjectMapperResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JSON binding of single device and device profile payloads, done with the shared mapper the
+ * RESTEasy Jackson provider uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+  private final ObjectMapper mapper = ObjectMapperResolver.mapper();
+  private Device device;
+  private DeviceProfile profile;
+  private byte[] deviceJson;
+  private byte[] profileJson;
+
+  @Setup
+  public void setup() throws IOException {
+    device = BenchmarkData.device("device-1");
+    profile = device.getProfile();
+    deviceJson = mapper.writeValueAsBytes(device);
+    profileJson = mapper.writeValueAsBytes(profile);
+  }
+
+  @Benchmark
+  public byte[] serializeDevice() throws IOException {
+    return mapper.writeValueAsBytes(device);
+  }
+
+  @Benchmark
+  public Device deserializeDevice() throws IOException {
+    return mapper.readValue(deviceJson, Device.class);
+  }
+
+  @Benchmark
+  public byte[] serializeProfile() throws IOException {
+    return mapper.writeValueAsBytes(profile);
+  }
+
+  @Benchmark
+  public DeviceProfile deserializeProfile() throws IOException {
+    return mapper.readValue(profileJson, DeviceProfile.class);
+  }
+
+}
@@ -0,0 +1,402 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.edgexfoundry.controller.AddressableClient;
+import org.edgexfoundry.controller.DeviceClient;
+import org.edgexfoundry.controller.DeviceProfileClient;
+import org.edgexfoundry.controller.DeviceServiceClient;
+import org.edgexfoundry.controller.impl.AddressableClientImpl;
+import org.edgexfoundry.controller.impl.DeviceBatchClient;
+import org.edgexfoundry.controller.impl.DeviceClientImpl;
+import org.edgexfoundry.controller.impl.DeviceProfileClientImpl;
+import org.edgexfoundry.controller.impl.DeviceServiceClientImpl;
+import org.edgexfoundry.domain.meta.Addressable;
+import org.edgexfoundry.domain.meta.Device;
+import org.edgexfoundry.domain.meta.DeviceProfile;
+import org.edgexfoundry.domain.meta.DeviceService;
+import org.edgexfoundry.domain.meta.OperatingState;
+import org.edgexfoundry.meta.client.BatchExecutor;
+import org.edgexfoundry.meta.client.BatchResult;
+import org.edgexfoundry.meta.client.CallStats;
+import org.edgexfoundry.meta.client.LatencyHistogram;
+import org.edgexfoundry.test.data.AddressableData;
+import org.edgexfoundry.test.data.DeviceData;
+import org.edgexfoundry.test.data.ProfileData;
+import org.edgexfoundry.test.data.ServiceData;
+import org.edgexfoundry.test.stub.StubMetadataServer;
+
+/**
+ * Drives the real client implementations the way a fleet of device services does: every worker
+ * thread stands for device services reading their devices and reporting on them. Runs against
+ * the in-process stub server, or against the core-metadata at url=http://host:48081 when given.
+ * Reports throughput, latency percentiles and errors per operation, the allocation rate of the
+ * worker threads and the client sockets open to core-metadata, so an in-process stub server
+ * counts toward neither.
+ *
+ * <p>
+ * All names created by a run carry a prefix unique to the run, so runs against the same
+ * core-metadata do not collide, and a run against a url deletes what it created when it ends.
+ *
+ * <p>
+ * Arguments are key=value pairs: services (500), devices (100 per service), threads (64),
+ * duration (60 seconds), reads (0.8, share of reads; the rest are writes), readsById (0.5, share
+ * of the reads by id; the rest are by name), writesLastReported (0.5, share of the writes
+ * updating the last reported time; the rest update the operating state), url (stub), keep
+ * (false; true leaves the created devices, services, profile and addressable in place).
+ */
+public class LoadGenerator {
+
+  private static final String[] OPERATIONS =
+      {"device", "deviceForName", "updateLastReported", "updateOpState"};
+  private static final long REPORT_INTERVAL = 5000;
+  private static final int BATCH_THREADS = 32;
+
+  private final Map<String, String> options;
+  private final Map<String, CallStats> stats = new LinkedHashMap<>();
+  private final List<String> ids = new ArrayList<>();
+  private final List<String> names = new ArrayList<>();
+  private final List<String> serviceNames = new ArrayList<>();
+  private final String prefix =
+      "load-" + Long.toString(System.currentTimeMillis(), Character.MAX_RADIX) + "-";
+  private final AtomicLong allocated = new AtomicLong();
+  private StubMetadataServer stub;
+  private AddressableClient addrClient;
+  private DeviceServiceClient srvClient;
+  private DeviceProfileClient proClient;
+  private DeviceClient deviceClient;
+  // adds and deletes the devices of the run
+  private ExecutorService batchPool;
+  private BatchExecutor batch;
+  private int port;
+  private volatile int maxSockets;
+
+  public LoadGenerator(Map<String, String> options) {
+    this.options = options;
+    for (String operation : OPERATIONS) {
+      stats.put(operation, new CallStats());
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      int split = arg.indexOf('=');
+      if (split < 1) {
+        throw new IllegalArgumentException("expected key=value but got " + arg);
+      }
+      options.put(arg.substring(0, split), arg.substring(split + 1));
+    }
+    new LoadGenerator(options).run();
+  }
+
+  public void run() throws Exception {
+    String url = options.get("url");
+    if (url == null) {
+      stub = new StubMetadataServer();
+      stub.start();
+      url = stub.getUrl("");
+    }
+    URI target = URI.create(url);
+    port = target.getPort() != -1 ? target.getPort()
+        : "https".equals(target.getScheme()) ? 443 : 80;
+    batchPool = Executors.newFixedThreadPool(BATCH_THREADS, daemon());
+    batch = new BatchExecutor(batchPool, BATCH_THREADS);
+    try {
+      populate(url);
+      drive();
+    } finally {
+      try {
+        if (stub != null) {
+          stub.stop();
+        } else if (!Boolean.parseBoolean(options.get("keep"))) {
+          cleanup();
+        }
+      } finally {
+        batchPool.shutdown();
+      }
+    }
+  }
+
+  private void populate(String url) {
+    int services = intOption("services", 500);
+    int devicesPerService = intOption("devices", 100);
+    addrClient = connect(new AddressableClientImpl(), url, "addressable");
+    srvClient = connect(new DeviceServiceClientImpl(), url, "deviceservice");
+    proClient = connect(new DeviceProfileClientImpl(), url, "deviceprofile");
+    deviceClient = connect(new DeviceClientImpl(), url, "device");
+
+    Addressable addr = AddressableData.newTestInstance();
+    addr.setName(prefix + "addressable");
+    addrClient.add(addr);
+    DeviceProfile profile = ProfileData.newTestInstance();
+    profile.setName(prefix + "profile");
+    proClient.add(profile);
+    List<Device> devices = new ArrayList<>();
+    for (int s = 0; s < services; s++) {
+      DeviceService service = ServiceData.newTestInstance();
+      service.setName(prefix + "service-" + s);
+      service.setAddressable(addr);
+      srvClient.add(service);
+      serviceNames.add(service.getName());
+      for (int d = 0; d < devicesPerService; d++) {
+        Device device = DeviceData.newTestInstance();
+        device.setName(prefix + "device-" + s + "-" + d);
+        device.setAddressable(addr);
+        device.setProfile(profile);
+        device.setService(service);
+        devices.add(device);
+      }
+    }
+    long start = System.currentTimeMillis();
+    BatchResult<String, String> added =
+        new DeviceBatchClient(deviceClient, batch).addAll(devices);
+    added.getValues().forEach((name, id) -> {
+      names.add(name);
+      ids.add(id);
+    });
+    if (added.hasErrors()) {
+      throw new IllegalStateException(added.getErrors().size() + " devices could not be added, "
+          + "first: " + added.getErrors().values().iterator().next());
+    }
+    System.out.printf("Added %d device services with %d devices in %d ms%n", services,
+        ids.size(), System.currentTimeMillis() - start);
+  }
+
+  private void drive() throws InterruptedException {
+    int threads = intOption("threads", 64);
+    long duration = TimeUnit.SECONDS.toMillis(intOption("duration", 60));
+    double reads = doubleOption("reads", 0.8);
+    double readsById = doubleOption("readsById", 0.5);
+    double writesLastReported = doubleOption("writesLastReported", 0.5);
+    ExecutorService workers = Executors.newFixedThreadPool(threads, daemon());
+    CountDownLatch done = new CountDownLatch(threads);
+    long end = System.currentTimeMillis() + duration;
+    for (int i = 0; i < threads; i++) {
+      workers.execute(() -> {
+        try {
+          long allocatedBefore = threadAllocatedBytes();
+          while (System.currentTimeMillis() < end) {
+            call(reads, readsById, writesLastReported);
+          }
+          allocated.addAndGet(threadAllocatedBytes() - allocatedBefore);
+        } finally {
+          done.countDown();
+        }
+      });
+    }
+    long start = System.nanoTime();
+    Map<String, Long> previous = new HashMap<>();
+    while (!done.await(REPORT_INTERVAL, TimeUnit.MILLISECONDS)) {
+      report(previous);
+    }
+    workers.shutdown();
+    double seconds = (System.nanoTime() - start) / 1e9;
+    System.out.println();
+    System.out.println("Summary");
+    System.out.printf("%-20s %10s %10s %9s %9s %9s %9s %9s %8s%n", "operation", "calls",
+        "calls/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+    for (Map.Entry<String, CallStats> entry : stats.entrySet()) {
+      CallStats.Snapshot snapshot = entry.getValue().getSnapshot();
+      LatencyHistogram.Snapshot latency = snapshot.getLatency();
+      System.out.printf("%-20s %10d %10.0f %9.2f %9.2f %9.2f %9.2f %9.2f %8d%n", entry.getKey(),
+          snapshot.getCalls(), snapshot.getCalls() / seconds,
+          millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(90)),
+          millis(latency.getValueAtPercentile(99)), millis(latency.getValueAtPercentile(99.9)),
+          millis(latency.getMax()), snapshot.getErrorCount());
+      if (!snapshot.getErrors().isEmpty()) {
+        System.out.println("  errors: " + snapshot.getErrors());
+      }
+    }
+    int sockets = openSockets();
+    System.out.printf("worker allocation rate: %.1f MB/s, client sockets: %d (max %d)%n",
+        allocated.get() / seconds / (1024 * 1024), sockets, Math.max(maxSockets, sockets));
+  }
+
+  // deletes what this run created, devices first as they refer to the rest
+  private void cleanup() {
+    int failed = 0;
+    if (deviceClient != null) {
+      failed += batch.apply(ids, deviceClient::delete).getErrors().size();
+    }
+    for (String name : serviceNames) {
+      failed += delete(srvClient::deleteByName, name);
+    }
+    if (proClient != null) {
+      failed += delete(proClient::deleteByName, prefix + "profile");
+    }
+    if (addrClient != null) {
+      failed += delete(addrClient::deleteByName, prefix + "addressable");
+    }
+    System.out.printf("Deleted the %s* devices, device services, profile and addressable, "
+        + "%d deletes failed%n", prefix, failed);
+  }
+
+  private static int delete(Function<String, Boolean> delete, String name) {
+    try {
+      delete.apply(name);
+      return 0;
+    } catch (RuntimeException e) {
+      return 1;
+    }
+  }
+
+  // first picks the read by id or the write of the last reported time within its category
+  private void call(double reads, double readsById, double writesLastReported) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int device = random.nextInt(ids.size());
+    boolean read = random.nextDouble() < reads;
+    boolean first = random.nextDouble() < (read ? readsById : writesLastReported);
+    String operation = read ? (first ? "device" : "deviceForName")
+        : (first ? "updateLastReported" : "updateOpState");
+    CallStats operationStats = stats.get(operation);
+    long start = System.nanoTime();
+    Throwable error = null;
+    operationStats.callStarted();
+    try {
+      if (read && first) {
+        deviceClient.device(ids.get(device));
+      } else if (read) {
+        deviceClient.deviceForName(names.get(device));
+      } else if (first) {
+        deviceClient.updateLastReported(ids.get(device), System.currentTimeMillis());
+      } else {
+        OperatingState[] states = OperatingState.values();
+        deviceClient.updateOpState(ids.get(device),
+            states[random.nextInt(states.length)].toString());
+      }
+    } catch (RuntimeException e) {
+      error = e;
+    } finally {
+      operationStats.callFinished(System.nanoTime() - start, error);
+    }
+  }
+
+  private void report(Map<String, Long> previous) {
+    int sockets = openSockets();
+    maxSockets = Math.max(maxSockets, sockets);
+    StringBuilder line = new StringBuilder();
+    for (Map.Entry<String, CallStats> entry : stats.entrySet()) {
+      CallStats.Snapshot snapshot = entry.getValue().getSnapshot();
+      long calls = snapshot.getCalls() - previous.getOrDefault(entry.getKey(), 0L);
+      previous.put(entry.getKey(), snapshot.getCalls());
+      line.append(String.format("%s %.0f/s  ", entry.getKey(), calls * 1000.0 / REPORT_INTERVAL));
+    }
+    System.out.println(line.append("sockets ").append(sockets));
+  }
+
+  // bytes allocated so far by the calling thread, where the JVM can tell
+  private static long threadAllocatedBytes() {
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+      return 0;
+    }
+    return Math.max(0, ((com.sun.management.ThreadMXBean) threads)
+        .getThreadAllocatedBytes(Thread.currentThread().getId()));
+  }
+
+  // TCP sockets of this process connected to the core-metadata port, or -1 where /proc is not
+  // available; the stub server's side of each connection has the port as its local port instead
+  private int openSockets() {
+    File[] descriptors = new File("/proc/self/fd").listFiles();
+    if (descriptors == null) {
+      return -1;
+    }
+    Set<String> inodes = new HashSet<>();
+    for (File descriptor : descriptors) {
+      try {
+        String target = Files.readSymbolicLink(descriptor.toPath()).toString();
+        if (target.startsWith("socket:[")) {
+          inodes.add(target.substring(8, target.length() - 1));
+        }
+      } catch (IOException | UnsupportedOperationException e) {
+        // closed while listing
+      }
+    }
+    String remotePort = String.format(":%04X", port);
+    int sockets = 0;
+    for (String table : new String[] {"/proc/self/net/tcp", "/proc/self/net/tcp6"}) {
+      try {
+        for (String line : Files.readAllLines(Paths.get(table))) {
+          String[] columns = line.trim().split("\\s+");
+          // columns: sl local_address rem_address st ... uid timeout inode
+          if (columns.length > 9 && columns[2].endsWith(remotePort)
+              && inodes.contains(columns[9])) {
+            sockets++;
+          }
+        }
+      } catch (IOException e) {
+        // no such table
+      }
+    }
+    return sockets;
+  }
+
+  private <T> T connect(T client, String url, String resource) {
+    BenchmarkData.setField(client.getClass(), client, "url",
+        url + StubMetadataServer.BASE_PATH + resource);
+    return client;
+  }
+
+  private int intOption(String name, int defaultValue) {
+    return Integer.parseInt(options.getOrDefault(name, String.valueOf(defaultValue)));
+  }
+
+  private double doubleOption(String name, double defaultValue) {
+    return Double.parseDouble(options.getOrDefault(name, String.valueOf(defaultValue)));
+  }
+
+  private static double millis(long nanos) {
+    return nanos / 1e6;
+  }
+
+  private static ThreadFactory daemon() {
+    AtomicInteger count = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, "load-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+}
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.benchmarks;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.edgexfoundry.controller.DeviceClient;
+import org.edgexfoundry.meta.client.ConsulDiscoveryClientTemplate;
+import org.edgexfoundry.meta.client.MetadataInstance;
+import org.edgexfoundry.meta.client.MetadataInstanceRegistry;
+import org.jboss.resteasy.client.jaxrs.ResteasyClient;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+
+/**
+ * Per-call overhead of getting a client proxy: a new client and proxy per call as the clients
+ * once did, a new proxy on a shared client, the cached lookup without discovery, and the lookup
+ * with instance selection over three discovered instances. No request is sent.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProxyBenchmark {
+
+  private static final String URL = "http://localhost:48081" + BenchmarkData.DEVICE_PATH;
+
+  private ResteasyClient client;
+  private ProxyLookup standalone;
+  private ProxyLookup discovered;
+  private MetadataInstanceRegistry registry;
+
+  @Setup
+  public void setup() {
+    client = new ResteasyClientBuilder().build();
+    standalone = new ProxyLookup();
+    registry = new MetadataInstanceRegistry();
+    BenchmarkData.setField(MetadataInstanceRegistry.class, registry, "discoveryClient",
+        new FixedDiscoveryClient());
+    // loads the instances and starts the background refresh, as the Spring context would
+    BenchmarkData.invoke(MetadataInstanceRegistry.class, registry, "init");
+    if (registry.select() == null) {
+      throw new IllegalStateException("No instance discovered, the benchmarks would measure the "
+          + "default url fallback");
+    }
+    discovered = new ProxyLookup();
+    BenchmarkData.setField(ConsulDiscoveryClientTemplate.class, discovered, "registry", registry);
+  }
+
+  @TearDown
+  public void tearDown() {
+    client.close();
+    BenchmarkData.invoke(MetadataInstanceRegistry.class, registry, "shutdown");
+  }
+
+  // the clients used to build a client and a proxy on every call and never closed the client;
+  // its single-connection manager holds no threads, so the garbage collector reclaims it
+  @Benchmark
+  public DeviceClient clientPerCall() {
+    return new ResteasyClientBuilder().build().target(URL).proxy(DeviceClient.class);
+  }
+
+  @Benchmark
+  public DeviceClient createProxy() {
+    return client.target(URL).proxy(DeviceClient.class);
+  }
+
+  @Benchmark
+  public DeviceClient cachedProxy() {
+    return standalone.lookup();
+  }
+
+  @Benchmark
+  public DeviceClient discoveredProxy() {
+    return discovered.lookup();
+  }
+
+  @Benchmark
+  public MetadataInstance selectInstance() {
+    return registry.select();
+  }
+
+  static class ProxyLookup extends ConsulDiscoveryClientTemplate {
+
+    DeviceClient lookup() {
+      return getProxy(DeviceClient.class, URL);
+    }
+
+    @Override
+    protected String extractPath() {
+      return BenchmarkData.DEVICE_PATH;
+    }
+
+  }
+
+  static class FixedDiscoveryClient implements DiscoveryClient {
+
+    private final List<ServiceInstance> instances = Arrays.asList(instance("10.0.0.1"),
+        instance("10.0.0.2"), instance("10.0.0.3"));
+
+    @Override
+    public String description() {
+      return "fixed discovery client";
+    }
+
+    @Override
+    public ServiceInstance getLocalServiceInstance() {
+      return null;
+    }
+
+    @Override
+    public List<ServiceInstance> getInstances(String serviceId) {
+      return instances;
+    }
+
+    @Override
+    public List<String> getServices() {
+      return Collections.singletonList(ConsulDiscoveryClientTemplate.APP_ID);
+    }
+
+    private static ServiceInstance instance(String host) {
+      return new DefaultServiceInstance(ConsulDiscoveryClientTemplate.APP_ID, host, 48081, false);
+    }
+
+  }
+
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.edgexfoundry.controller.DeviceClient;
+import org.edgexfoundry.controller.DeviceProfileClient;
+import org.edgexfoundry.controller.impl.DeviceClientImpl;
+import org.edgexfoundry.controller.impl.DeviceProfileClientImpl;
+import org.edgexfoundry.domain.meta.Device;
+import org.edgexfoundry.domain.meta.DeviceProfile;
+import org.edgexfoundry.meta.client.ObjectMapperResolver;
+import org.edgexfoundry.test.stub.StubMetadataServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Complete client calls against the in-process stub server: proxy lookup, request, response and
+ * JSON binding of the result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoundTripBenchmark {
+
+  private static final String DEVICE_ID = "device-1";
+  private static final String PROFILE_ID = "profile-1";
+
+  private StubMetadataServer server;
+  private DeviceClient deviceClient;
+  private DeviceProfileClient profileClient;
+
+  @Setup
+  public void setup() throws IOException {
+    ObjectMapper mapper = ObjectMapperResolver.mapper();
+    server = new StubMetadataServer();
+    server.start();
+    server.respond("GET", BenchmarkData.DEVICE_PATH + "/" + DEVICE_ID, 200,
+        mapper.writeValueAsString(BenchmarkData.device(DEVICE_ID)));
+    server.respond("GET", BenchmarkData.PROFILE_PATH + "/" + PROFILE_ID, 200,
+        mapper.writeValueAsString(BenchmarkData.profile(PROFILE_ID)));
+    deviceClient = new DeviceClientImpl();
+    BenchmarkData.setField(DeviceClientImpl.class, deviceClient, "url",
+        server.getUrl(BenchmarkData.DEVICE_PATH));
+    profileClient = new DeviceProfileClientImpl();
+    BenchmarkData.setField(DeviceProfileClientImpl.class, profileClient, "url",
+        server.getUrl(BenchmarkData.PROFILE_PATH));
+  }
+
+  @TearDown
+  public void tearDown() {
+    BenchmarkData.close(deviceClient);
+    BenchmarkData.close(profileClient);
+    server.stop();
+  }
+
+  @Benchmark
+  public Device device() {
+    return deviceClient.device(DEVICE_ID);
+  }
+
+  @Benchmark
+  public DeviceProfile deviceProfile() {
+    return profileClient.deviceProfile(PROFILE_ID);
+  }
+
+}
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.edgexfoundry.domain.meta.Command;
+
+public interface AsyncCommandClient {
+
+  CompletableFuture<Command> command(String id);
+
+  CompletableFuture<List<Command>> commands();
+
+  CompletableFuture<List<Command>> commandsForName(String name);
+
+  CompletableFuture<String> add(Command command);
+
+  CompletableFuture<Boolean> update(Command command);
+
+  CompletableFuture<Boolean> delete(String id);
+
+}
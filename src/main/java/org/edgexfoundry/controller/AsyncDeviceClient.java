@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.edgexfoundry.domain.meta.Device;
+
+public interface AsyncDeviceClient {
+
+  CompletableFuture<Device> device(String id);
+
+  CompletableFuture<List<Device>> devices();
+
+  CompletableFuture<Device> deviceForName(String name);
+
+  CompletableFuture<List<Device>> devicesByLabel(String label);
+
+  CompletableFuture<List<Device>> devicesForService(String serviceId);
+
+  CompletableFuture<List<Device>> devicesForServiceByName(String servicename);
+
+  CompletableFuture<List<Device>> devicesForProfile(String profileId);
+
+  CompletableFuture<List<Device>> devicesForProfileByName(String profilename);
+
+  CompletableFuture<List<Device>> devicesForAddressable(String addressableId);
+
+  CompletableFuture<List<Device>> devicesForAddressableByName(String addressablename);
+
+  CompletableFuture<String> add(Device device);
+
+  CompletableFuture<Boolean> update(Device device);
+
+  CompletableFuture<Boolean> updateLastConnected(String id, long time);
+
+  CompletableFuture<Boolean> updateLastConnected(String id, long time, boolean notify);
+
+  CompletableFuture<Boolean> updateLastConnectedByName(String name, long time);
+
+  CompletableFuture<Boolean> updateLastConnectedByName(String name, long time, boolean notify);
+
+  CompletableFuture<Boolean> updateLastReported(String id, long time);
+
+  CompletableFuture<Boolean> updateLastReported(String id, long time, boolean notify);
+
+  CompletableFuture<Boolean> updateLastReportedByName(String name, long time);
+
+  CompletableFuture<Boolean> updateLastReportedByName(String name, long time, boolean notify);
+
+  CompletableFuture<Boolean> updateOpState(String id, String opState);
+
+  CompletableFuture<Boolean> updateOpStateByName(String name, String opState);
+
+  CompletableFuture<Boolean> updateAdminState(String id, String adminState);
+
+  CompletableFuture<Boolean> updateAdminStateByName(String name, String adminState);
+
+  CompletableFuture<Boolean> delete(String id);
+
+  CompletableFuture<Boolean> deleteByName(String name);
+
+}
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.edgexfoundry.domain.meta.Addressable;
+import org.edgexfoundry.domain.meta.DeviceService;
+
+public interface AsyncDeviceServiceClient {
+
+  CompletableFuture<DeviceService> deviceService(String id);
+
+  CompletableFuture<List<DeviceService>> deviceServices();
+
+  CompletableFuture<DeviceService> deviceServiceForName(String name);
+
+  CompletableFuture<List<DeviceService>> deviceServicesForAddressable(String addressableId);
+
+  CompletableFuture<List<DeviceService>> deviceServicesForAddressableByName(String addressablename);
+
+  CompletableFuture<List<DeviceService>> deviceServicesByLabel(String label);
+
+  CompletableFuture<Set<Addressable>> addressablesForAssociatedDevices(String id);
+
+  CompletableFuture<Set<Addressable>> addressablesForAssociatedDevicesByName(String name);
+
+  CompletableFuture<String> add(DeviceService deviceService);
+
+  CompletableFuture<Boolean> update(DeviceService deviceService);
+
+  CompletableFuture<Boolean> updateLastConnected(String id, long time);
+
+  CompletableFuture<Boolean> updateLastConnectedByName(String name, long time);
+
+  CompletableFuture<Boolean> updateLastReported(String id, long time);
+
+  CompletableFuture<Boolean> updateLastReportedByName(String name, long time);
+
+  CompletableFuture<Boolean> updateOpState(String id, String opState);
+
+  CompletableFuture<Boolean> updateOpStateByName(String name, String opState);
+
+  CompletableFuture<Boolean> updateAdminState(String id, String adminState);
+
+  CompletableFuture<Boolean> updateAdminStateByName(String name, String adminState);
+
+  CompletableFuture<Boolean> delete(String id);
+
+  CompletableFuture<Boolean> deleteByName(String name);
+
+}
@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.edgexfoundry.domain.meta.ProvisionWatcher;
+
+public interface AsyncProvisionWatcherClient {
+
+  CompletableFuture<ProvisionWatcher> provisionWatcher(String id);
+
+  CompletableFuture<List<ProvisionWatcher>> provisionWatchers();
+
+  CompletableFuture<ProvisionWatcher> provisionWatcherForName(String name);
+
+  CompletableFuture<List<ProvisionWatcher>> provisionWatcherForProfile(String profileId);
+
+  CompletableFuture<List<ProvisionWatcher>> provisionWatcherForProfileByName(String profilename);
+
+  CompletableFuture<List<ProvisionWatcher>> provisionWatcherForService(String serviceId);
+
+  CompletableFuture<List<ProvisionWatcher>> provisionWatcherForServiceByName(String servicename);
+
+  CompletableFuture<List<ProvisionWatcher>> watchersForIdentifier(String key, String value);
+
+  CompletableFuture<String> add(ProvisionWatcher provisionWatcher);
+
+  CompletableFuture<Boolean> update(ProvisionWatcher provisionWatcher);
+
+  CompletableFuture<Boolean> delete(String id);
+
+  CompletableFuture<Boolean> deleteByName(String name);
+
+}
@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller;
+
+import java.util.stream.Stream;
+
+import org.edgexfoundry.domain.meta.DeviceProfile;
+
+/**
+ * The list reads of DeviceProfileClient, handing each profile over as it is parsed from the
+ * response instead of returning the whole list. Every stream holds a connection until it is read
+ * to the end or closed.
+ */
+public interface StreamingDeviceProfileClient {
+
+  Stream<DeviceProfile> deviceProfiles();
+
+  Stream<DeviceProfile> deviceProfilesByManufacturer(String manufacturer);
+
+  Stream<DeviceProfile> deviceProfilesByModel(String model);
+
+  Stream<DeviceProfile> deviceProfilesByManufacturerOrModel(String manufacturer, String model);
+
+  Stream<DeviceProfile> deviceProfilesByLabel(String label);
+
+}
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.impl;
+
+import java.util.Collection;
+
+import org.edgexfoundry.controller.AddressableClient;
+import org.edgexfoundry.domain.meta.Addressable;
+import org.edgexfoundry.meta.client.BatchExecutor;
+import org.edgexfoundry.meta.client.BatchResult;
+
+/**
+ * Looks up many addressables at once by fanning single lookups out over a BatchExecutor. Wrap a
+ * CachingAddressableClient to have cached addressables answered without a request.
+ */
+public class AddressableBatchClient {
+
+  private final AddressableClient client;
+  private final BatchExecutor batch;
+
+  public AddressableBatchClient(AddressableClient client) {
+    this(client, new BatchExecutor());
+  }
+
+  public AddressableBatchClient(AddressableClient client, BatchExecutor batch) {
+    this.client = client;
+    this.batch = batch;
+  }
+
+  public BatchResult<String, Addressable> addressablesForIds(Collection<String> ids) {
+    return batch.apply(ids, client::addressable);
+  }
+
+  public BatchResult<String, Addressable> addressablesForNames(Collection<String> names) {
+    return batch.apply(names, client::addressableForName);
+  }
+
+}
@@ -26,9 +26,6 @@ import org.edgexfoundry.controller.AddressableClient;
 import org.edgexfoundry.domain.meta.Addressable;
 import org.edgexfoundry.exception.controller.DataValidationException;
 import org.edgexfoundry.meta.client.ConsulDiscoveryClientTemplate;
-import org.jboss.resteasy.client.jaxrs.ResteasyClient;
-import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
-import org.jboss.resteasy.client.jaxrs.ResteasyWebTarget;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -41,37 +38,39 @@ public class AddressableClientImpl extends ConsulDiscoveryClientTemplate
 
   @Override
   public Addressable addressable(String id) {
-    return getClient().addressable(id);
+    return coalesce(() -> getClient().addressable(id), "addressable", id);
   }
 
   @Override
   public List<Addressable> addressables() {
-    return getClient().addressables();
+    return coalesce(() -> getClient().addressables(), "addressables");
   }
 
   @Override
   public Addressable addressableForName(String name) {
-    return getClient().addressableForName(name);
+    return coalesce(() -> getClient().addressableForName(name), "addressableForName", name);
   }
 
   @Override
   public List<Addressable> addressablesByAddress(String address) {
-    return getClient().addressablesByAddress(address);
+    return coalesce(() -> getClient().addressablesByAddress(address),
+        "addressablesByAddress", address);
   }
 
   @Override
   public List<Addressable> addressablesByPort(String port) {
-    return getClient().addressablesByPort(port);
+    return coalesce(() -> getClient().addressablesByPort(port), "addressablesByPort", port);
   }
 
   @Override
   public List<Addressable> addressablesByTopic(String topic) {
-    return getClient().addressablesByTopic(topic);
+    return coalesce(() -> getClient().addressablesByTopic(topic), "addressablesByTopic", topic);
   }
 
   @Override
   public List<Addressable> addressablesByPublisher(String publisher) {
-    return getClient().addressablesByPublisher(publisher);
+    return coalesce(() -> getClient().addressablesByPublisher(publisher),
+        "addressablesByPublisher", publisher);
   }
 
   @Override
@@ -95,17 +94,7 @@ public class AddressableClientImpl extends ConsulDiscoveryClientTemplate
   }
 
   private AddressableClient getClient() {
-    ResteasyClient client = new ResteasyClientBuilder().build();
-    ResteasyWebTarget target;
-
-    String rootUrl = super.getRootUrl();
-    if (rootUrl == null || rootUrl.isEmpty()) {
-      target = client.target(url);
-    } else {
-      target = client.target(rootUrl + super.getPath());
-    }
-
-    return target.proxy(AddressableClient.class);
+    return super.getProxy(AddressableClient.class, url);
   }
 
   @Override
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.impl;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.edgexfoundry.controller.AddressableClient;
+import org.edgexfoundry.controller.AsyncAddressableClient;
+import org.edgexfoundry.domain.meta.Addressable;
+import org.edgexfoundry.exception.controller.DataValidationException;
+import org.edgexfoundry.meta.client.AsyncClientTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AsyncAddressableClientImpl extends AsyncClientTemplate<AddressableClient>
+    implements AsyncAddressableClient {
+
+  @Value("${meta.db.addressable.url}")
+  private String url;
+
+  public AsyncAddressableClientImpl() {
+    super(AddressableClient.class);
+  }
+
+  @Override
+  public CompletableFuture<Addressable> addressable(String id) {
+    return supply(url, client -> client.addressable(id));
+  }
+
+  @Override
+  public CompletableFuture<List<Addressable>> addressables() {
+    return supply(url, client -> client.addressables());
+  }
+
+  @Override
+  public CompletableFuture<Addressable> addressableForName(String name) {
+    return supply(url, client -> client.addressableForName(name));
+  }
+
+  @Override
+  public CompletableFuture<List<Addressable>> addressablesByAddress(String address) {
+    return supply(url, client -> client.addressablesByAddress(address));
+  }
+
+  @Override
+  public CompletableFuture<List<Addressable>> addressablesByPort(String port) {
+    return supply(url, client -> client.addressablesByPort(port));
+  }
+
+  @Override
+  public CompletableFuture<List<Addressable>> addressablesByTopic(String topic) {
+    return supply(url, client -> client.addressablesByTopic(topic));
+  }
+
+  @Override
+  public CompletableFuture<List<Addressable>> addressablesByPublisher(String publisher) {
+    return supply(url, client -> client.addressablesByPublisher(publisher));
+  }
+
+  @Override
+  public CompletableFuture<String> add(Addressable addressable) {
+    return supply(url, client -> client.add(addressable));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> update(Addressable addressable) {
+    return supply(url, client -> client.update(addressable));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> delete(String id) {
+    return supply(url, client -> client.delete(id));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> deleteByName(String name) {
+    return supply(url, client -> client.deleteByName(name));
+  }
+
+  @Override
+  protected String extractPath() {
+    String result = "";
+    try {
+      URL urlObject = new URL(url);
+      result = urlObject.getPath();
+    } catch (MalformedURLException e) {
+      throw new DataValidationException("the URL is malformed, meta.db.addressable.url: " + url);
+    }
+    return result;
+  }
+
+}
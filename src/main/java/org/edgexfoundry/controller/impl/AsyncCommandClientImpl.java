@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.impl;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.edgexfoundry.controller.AsyncCommandClient;
+import org.edgexfoundry.controller.CommandClient;
+import org.edgexfoundry.domain.meta.Command;
+import org.edgexfoundry.exception.controller.DataValidationException;
+import org.edgexfoundry.meta.client.AsyncClientTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AsyncCommandClientImpl extends AsyncClientTemplate<CommandClient>
+    implements AsyncCommandClient {
+
+  @Value("${meta.db.command.url}")
+  private String url;
+
+  public AsyncCommandClientImpl() {
+    super(CommandClient.class);
+  }
+
+  @Override
+  public CompletableFuture<Command> command(String id) {
+    return supply(url, client -> client.command(id));
+  }
+
+  @Override
+  public CompletableFuture<List<Command>> commands() {
+    return supply(url, client -> client.commands());
+  }
+
+  @Override
+  public CompletableFuture<List<Command>> commandsForName(String name) {
+    return supply(url, client -> client.commandsForName(name));
+  }
+
+  @Override
+  public CompletableFuture<String> add(Command command) {
+    return supply(url, client -> client.add(command));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> update(Command command) {
+    return supply(url, client -> client.update(command));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> delete(String id) {
+    return supply(url, client -> client.delete(id));
+  }
+
+  @Override
+  protected String extractPath() {
+    String result = "";
+    try {
+      URL urlObject = new URL(url);
+      result = urlObject.getPath();
+    } catch (MalformedURLException e) {
+      throw new DataValidationException("the URL is malformed, meta.db.command.url: " + url);
+    }
+    return result;
+  }
+
+}
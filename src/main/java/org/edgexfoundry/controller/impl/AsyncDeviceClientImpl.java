@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.impl;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.edgexfoundry.controller.AsyncDeviceClient;
+import org.edgexfoundry.controller.DeviceClient;
+import org.edgexfoundry.domain.meta.Device;
+import org.edgexfoundry.exception.controller.DataValidationException;
+import org.edgexfoundry.meta.client.AsyncClientTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AsyncDeviceClientImpl extends AsyncClientTemplate<DeviceClient>
+    implements AsyncDeviceClient {
+
+  @Value("${meta.db.device.url}")
+  private String url;
+
+  public AsyncDeviceClientImpl() {
+    super(DeviceClient.class);
+  }
+
+  @Override
+  public CompletableFuture<Device> device(String id) {
+    return supply(url, client -> client.device(id));
+  }
+
+  @Override
+  public CompletableFuture<List<Device>> devices() {
+    return supply(url, client -> client.devices());
+  }
+
+  @Override
+  public CompletableFuture<Device> deviceForName(String name) {
+    return supply(url, client -> client.deviceForName(name));
+  }
+
+  @Override
+  public CompletableFuture<List<Device>> devicesByLabel(String label) {
+    return supply(url, client -> client.devicesByLabel(label));
+  }
+
+  @Override
+  public CompletableFuture<List<Device>> devicesForService(String serviceId) {
+    return supply(url, client -> client.devicesForService(serviceId));
+  }
+
+  @Override
+  public CompletableFuture<List<Device>> devicesForServiceByName(String servicename) {
+    return supply(url, client -> client.devicesForServiceByName(servicename));
+  }
+
+  @Override
+  public CompletableFuture<List<Device>> devicesForProfile(String profileId) {
+    return supply(url, client -> client.devicesForProfile(profileId));
+  }
+
+  @Override
+  public CompletableFuture<List<Device>> devicesForProfileByName(String profilename) {
+    return supply(url, client -> client.devicesForProfileByName(profilename));
+  }
+
+  @Override
+  public CompletableFuture<List<Device>> devicesForAddressable(String addressableId) {
+    return supply(url, client -> client.devicesForAddressable(addressableId));
+  }
+
+  @Override
+  public CompletableFuture<List<Device>> devicesForAddressableByName(String addressablename) {
+    return supply(url, client -> client.devicesForAddressableByName(addressablename));
+  }
+
+  @Override
+  public CompletableFuture<String> add(Device device) {
+    return supply(url, client -> client.add(device));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> update(Device device) {
+    return supply(url, client -> client.update(device));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> updateLastConnected(String id, long time) {
+    return supply(url, client -> client.updateLastConnected(id, time));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> updateLastConnected(String id, long time, boolean notify) {
+    return supply(url, client -> client.updateLastConnected(id, time, notify));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> updateLastConnectedByName(String name, long time) {
+    return supply(url, client -> client.updateLastConnectedByName(name, time));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> updateLastConnectedByName(
+      String name, long time, boolean notify) {
+    return supply(url, client -> client.updateLastConnectedByName(name, time, notify));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> updateLastReported(String id, long time) {
+    return supply(url, client -> client.updateLastReported(id, time));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> updateLastReported(String id, long time, boolean notify) {
+    return supply(url, client -> client.updateLastReported(id, time, notify));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> updateLastReportedByName(String name, long time) {
+    return supply(url, client -> client.updateLastReportedByName(name, time));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> updateLastReportedByName(
+      String name, long time, boolean notify) {
+    return supply(url, client -> client.updateLastReportedByName(name, time, notify));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> updateOpState(String id, String opState) {
+    return supply(url, client -> client.updateOpState(id, opState));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> updateOpStateByName(String name, String opState) {
+    return supply(url, client -> client.updateOpStateByName(name, opState));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> updateAdminState(String id, String adminState) {
+    return supply(url, client -> client.updateAdminState(id, adminState));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> updateAdminStateByName(String name, String adminState) {
+    return supply(url, client -> client.updateAdminStateByName(name, adminState));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> delete(String id) {
+    return supply(url, client -> client.delete(id));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> deleteByName(String name) {
+    return supply(url, client -> client.deleteByName(name));
+  }
+
+  @Override
+  protected String extractPath() {
+    String result = "";
+    try {
+      URL urlObject = new URL(url);
+      result = urlObject.getPath();
+    } catch (MalformedURLException e) {
+      throw new DataValidationException("the URL is malformed, meta.db.device.url: " + url);
+    }
+    return result;
+  }
+
+}
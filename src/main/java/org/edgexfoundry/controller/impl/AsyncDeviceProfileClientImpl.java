@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.impl;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.edgexfoundry.controller.AsyncDeviceProfileClient;
+import org.edgexfoundry.controller.DeviceProfileClient;
+import org.edgexfoundry.domain.meta.DeviceProfile;
+import org.edgexfoundry.exception.controller.DataValidationException;
+import org.edgexfoundry.meta.client.AsyncClientTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AsyncDeviceProfileClientImpl extends AsyncClientTemplate<DeviceProfileClient>
+    implements AsyncDeviceProfileClient {
+
+  @Value("${meta.db.deviceprofile.url}")
+  private String url;
+
+  public AsyncDeviceProfileClientImpl() {
+    super(DeviceProfileClient.class);
+  }
+
+  @Override
+  public CompletableFuture<DeviceProfile> deviceProfile(String id) {
+    return supply(url, client -> client.deviceProfile(id));
+  }
+
+  @Override
+  public CompletableFuture<List<DeviceProfile>> deviceProfiles() {
+    return supply(url, client -> client.deviceProfiles());
+  }
+
+  @Override
+  public CompletableFuture<DeviceProfile> deviceProfileForName(String name) {
+    return supply(url, client -> client.deviceProfileForName(name));
+  }
+
+  @Override
+  public CompletableFuture<List<DeviceProfile>> deviceProfilesByManufacturer(String manufacturer) {
+    return supply(url, client -> client.deviceProfilesByManufacturer(manufacturer));
+  }
+
+  @Override
+  public CompletableFuture<List<DeviceProfile>> deviceProfilesByModel(String model) {
+    return supply(url, client -> client.deviceProfilesByModel(model));
+  }
+
+  @Override
+  public CompletableFuture<List<DeviceProfile>> deviceProfilesByManufacturerOrModel(
+      String manufacturer, String model) {
+    return supply(url, client -> client.deviceProfilesByManufacturerOrModel(manufacturer, model));
+  }
+
+  @Override
+  public CompletableFuture<List<DeviceProfile>> deviceProfilesByLabel(String label) {
+    return supply(url, client -> client.deviceProfilesByLabel(label));
+  }
+
+  @Override
+  public CompletableFuture<String> add(DeviceProfile deviceProfile) {
+    return supply(url, client -> client.add(deviceProfile));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> update(DeviceProfile deviceProfile) {
+    return supply(url, client -> client.update(deviceProfile));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> delete(String id) {
+    return supply(url, client -> client.delete(id));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> deleteByName(String name) {
+    return supply(url, client -> client.deleteByName(name));
+  }
+
+  @Override
+  protected String extractPath() {
+    String result = "";
+    try {
+      URL urlObject = new URL(url);
+      result = urlObject.getPath();
+    } catch (MalformedURLException e) {
+      throw new DataValidationException("the URL is malformed, meta.db.deviceprofile.url: " + url);
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.impl;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.edgexfoundry.controller.AsyncDeviceReportClient;
+import org.edgexfoundry.controller.DeviceReportClient;
+import org.edgexfoundry.domain.meta.DeviceReport;
+import org.edgexfoundry.exception.controller.DataValidationException;
+import org.edgexfoundry.meta.client.AsyncClientTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AsyncDeviceReportClientImpl extends AsyncClientTemplate<DeviceReportClient>
+    implements AsyncDeviceReportClient {
+
+  @Value("${meta.db.devicereport.url}")
+  private String url;
+
+  public AsyncDeviceReportClientImpl() {
+    super(DeviceReportClient.class);
+  }
+
+  @Override
+  public CompletableFuture<DeviceReport> deviceReport(String id) {
+    return supply(url, client -> client.deviceReport(id));
+  }
+
+  @Override
+  public CompletableFuture<List<DeviceReport>> deviceReports() {
+    return supply(url, client -> client.deviceReports());
+  }
+
+  @Override
+  public CompletableFuture<DeviceReport> deviceReportForName(String name) {
+    return supply(url, client -> client.deviceReportForName(name));
+  }
+
+  @Override
+  public CompletableFuture<List<String>> associatedValueDesriptors(String devicename) {
+    return supply(url, client -> client.associatedValueDesriptors(devicename));
+  }
+
+  @Override
+  public CompletableFuture<List<DeviceReport>> deviceReportsForDevice(String devicename) {
+    return supply(url, client -> client.deviceReportsForDevice(devicename));
+  }
+
+  @Override
+  public CompletableFuture<String> add(DeviceReport deviceReport) {
+    return supply(url, client -> client.add(deviceReport));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> update(DeviceReport deviceReport) {
+    return supply(url, client -> client.update(deviceReport));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> delete(String id) {
+    return supply(url, client -> client.delete(id));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> deleteByName(String name) {
+    return supply(url, client -> client.deleteByName(name));
+  }
+
+  @Override
+  protected String extractPath() {
+    String result = "";
+    try {
+      URL urlObject = new URL(url);
+      result = urlObject.getPath();
+    } catch (MalformedURLException e) {
+      throw new DataValidationException("the URL is malformed, meta.db.devicereport.url: " + url);
+    }
+    return result;
+  }
+
+}
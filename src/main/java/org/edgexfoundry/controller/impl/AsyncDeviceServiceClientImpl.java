@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.impl;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.edgexfoundry.controller.AsyncDeviceServiceClient;
+import org.edgexfoundry.controller.DeviceServiceClient;
+import org.edgexfoundry.domain.meta.Addressable;
+import org.edgexfoundry.domain.meta.DeviceService;
+import org.edgexfoundry.exception.controller.DataValidationException;
+import org.edgexfoundry.meta.client.AsyncClientTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AsyncDeviceServiceClientImpl extends AsyncClientTemplate<DeviceServiceClient>
+    implements AsyncDeviceServiceClient {
+
+  @Value("${meta.db.deviceservice.url}")
+  private String url;
+
+  public AsyncDeviceServiceClientImpl() {
+    super(DeviceServiceClient.class);
+  }
+
+  @Override
+  public CompletableFuture<DeviceService> deviceService(String id) {
+    return supply(url, client -> client.deviceService(id));
+  }
+
+  @Override
+  public CompletableFuture<List<DeviceService>> deviceServices() {
+    return supply(url, client -> client.deviceServices());
+  }
+
+  @Override
+  public CompletableFuture<DeviceService> deviceServiceForName(String name) {
+    return supply(url, client -> client.deviceServiceForName(name));
+  }
+
+  @Override
+  public CompletableFuture<List<DeviceService>> deviceServicesForAddressable(String addressableId) {
+    return supply(url, client -> client.deviceServicesForAddressable(addressableId));
+  }
+
+  @Override
+  public CompletableFuture<List<DeviceService>> deviceServicesForAddressableByName(
+      String addressablename) {
+    return supply(url, client -> client.deviceServicesForAddressableByName(addressablename));
+  }
+
+  @Override
+  public CompletableFuture<List<DeviceService>> deviceServicesByLabel(String label) {
+    return supply(url, client -> client.deviceServicesByLabel(label));
+  }
+
+  @Override
+  public CompletableFuture<Set<Addressable>> addressablesForAssociatedDevices(String id) {
+    return supply(url, client -> client.addressablesForAssociatedDevices(id));
+  }
+
+  @Override
+  public CompletableFuture<Set<Addressable>> addressablesForAssociatedDevicesByName(String name) {
+    return supply(url, client -> client.addressablesForAssociatedDevicesByName(name));
+  }
+
+  @Override
+  public CompletableFuture<String> add(DeviceService deviceService) {
+    return supply(url, client -> client.add(deviceService));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> update(DeviceService deviceService) {
+    return supply(url, client -> client.update(deviceService));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> updateLastConnected(String id, long time) {
+    return supply(url, client -> client.updateLastConnected(id, time));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> updateLastConnectedByName(String name, long time) {
+    return supply(url, client -> client.updateLastConnectedByName(name, time));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> updateLastReported(String id, long time) {
+    return supply(url, client -> client.updateLastReported(id, time));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> updateLastReportedByName(String name, long time) {
+    return supply(url, client -> client.updateLastReportedByName(name, time));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> updateOpState(String id, String opState) {
+    return supply(url, client -> client.updateOpState(id, opState));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> updateOpStateByName(String name, String opState) {
+    return supply(url, client -> client.updateOpStateByName(name, opState));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> updateAdminState(String id, String adminState) {
+    return supply(url, client -> client.updateAdminState(id, adminState));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> updateAdminStateByName(String name, String adminState) {
+    return supply(url, client -> client.updateAdminStateByName(name, adminState));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> delete(String id) {
+    return supply(url, client -> client.delete(id));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> deleteByName(String name) {
+    return supply(url, client -> client.deleteByName(name));
+  }
+
+  @Override
+  protected String extractPath() {
+    String result = "";
+    try {
+      URL urlObject = new URL(url);
+      result = urlObject.getPath();
+    } catch (MalformedURLException e) {
+      throw new DataValidationException("the URL is malformed, meta.db.deviceservice.url: " + url);
+    }
+    return result;
+  }
+
+}
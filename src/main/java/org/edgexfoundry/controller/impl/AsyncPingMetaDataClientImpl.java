@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.impl;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+
+import org.edgexfoundry.controller.AsyncPingMetaDataClient;
+import org.edgexfoundry.controller.PingMetaDataClient;
+import org.edgexfoundry.exception.controller.DataValidationException;
+import org.edgexfoundry.meta.client.AsyncClientTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AsyncPingMetaDataClientImpl extends AsyncClientTemplate<PingMetaDataClient>
+    implements AsyncPingMetaDataClient {
+
+  @Value("${meta.db.ping.url}")
+  private String url;
+
+  public AsyncPingMetaDataClientImpl() {
+    super(PingMetaDataClient.class);
+  }
+
+  @Override
+  public CompletableFuture<String> ping() {
+    return supply(url, client -> client.ping());
+  }
+
+  @Override
+  protected String extractPath() {
+    String result = "";
+    try {
+      URL urlObject = new URL(url);
+      result = urlObject.getPath();
+    } catch (MalformedURLException e) {
+      throw new DataValidationException("the URL is malformed, meta.db.ping.url: " + url);
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.impl;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.edgexfoundry.controller.AsyncProvisionWatcherClient;
+import org.edgexfoundry.controller.ProvisionWatcherClient;
+import org.edgexfoundry.domain.meta.ProvisionWatcher;
+import org.edgexfoundry.exception.controller.DataValidationException;
+import org.edgexfoundry.meta.client.AsyncClientTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AsyncProvisionWatcherClientImpl extends AsyncClientTemplate<ProvisionWatcherClient>
+    implements AsyncProvisionWatcherClient {
+
+  @Value("${meta.db.provisionwatcher.url}")
+  private String url;
+
+  public AsyncProvisionWatcherClientImpl() {
+    super(ProvisionWatcherClient.class);
+  }
+
+  @Override
+  public CompletableFuture<ProvisionWatcher> provisionWatcher(String id) {
+    return supply(url, client -> client.provisionWatcher(id));
+  }
+
+  @Override
+  public CompletableFuture<List<ProvisionWatcher>> provisionWatchers() {
+    return supply(url, client -> client.provisionWatchers());
+  }
+
+  @Override
+  public CompletableFuture<ProvisionWatcher> provisionWatcherForName(String name) {
+    return supply(url, client -> client.provisionWatcherForName(name));
+  }
+
+  @Override
+  public CompletableFuture<List<ProvisionWatcher>> provisionWatcherForProfile(String profileId) {
+    return supply(url, client -> client.provisionWatcherForProfile(profileId));
+  }
+
+  @Override
+  public CompletableFuture<List<ProvisionWatcher>> provisionWatcherForProfileByName(
+      String profilename) {
+    return supply(url, client -> client.provisionWatcherForProfileByName(profilename));
+  }
+
+  @Override
+  public CompletableFuture<List<ProvisionWatcher>> provisionWatcherForService(String serviceId) {
+    return supply(url, client -> client.provisionWatcherForService(serviceId));
+  }
+
+  @Override
+  public CompletableFuture<List<ProvisionWatcher>> provisionWatcherForServiceByName(
+      String servicename) {
+    return supply(url, client -> client.provisionWatcherForServiceByName(servicename));
+  }
+
+  @Override
+  public CompletableFuture<List<ProvisionWatcher>> watchersForIdentifier(String key, String value) {
+    return supply(url, client -> client.watchersForIdentifier(key, value));
+  }
+
+  @Override
+  public CompletableFuture<String> add(ProvisionWatcher provisionWatcher) {
+    return supply(url, client -> client.add(provisionWatcher));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> update(ProvisionWatcher provisionWatcher) {
+    return supply(url, client -> client.update(provisionWatcher));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> delete(String id) {
+    return supply(url, client -> client.delete(id));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> deleteByName(String name) {
+    return supply(url, client -> client.deleteByName(name));
+  }
+
+  @Override
+  protected String extractPath() {
+    String result = "";
+    try {
+      URL urlObject = new URL(url);
+      result = urlObject.getPath();
+    } catch (MalformedURLException e) {
+      throw new DataValidationException(
+          "the URL is malformed, meta.db.provisionwatcher.url: " + url);
+    }
+    return result;
+  }
+
+}
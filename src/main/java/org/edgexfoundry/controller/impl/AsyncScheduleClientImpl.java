@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.impl;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.edgexfoundry.controller.AsyncScheduleClient;
+import org.edgexfoundry.controller.ScheduleClient;
+import org.edgexfoundry.domain.meta.Schedule;
+import org.edgexfoundry.exception.controller.DataValidationException;
+import org.edgexfoundry.meta.client.AsyncClientTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AsyncScheduleClientImpl extends AsyncClientTemplate<ScheduleClient>
+    implements AsyncScheduleClient {
+
+  @Value("${meta.db.schedule.url}")
+  private String url;
+
+  public AsyncScheduleClientImpl() {
+    super(ScheduleClient.class);
+  }
+
+  @Override
+  public CompletableFuture<Schedule> schedule(String id) {
+    return supply(url, client -> client.schedule(id));
+  }
+
+  @Override
+  public CompletableFuture<List<Schedule>> schedules() {
+    return supply(url, client -> client.schedules());
+  }
+
+  @Override
+  public CompletableFuture<Schedule> scheduleForName(String name) {
+    return supply(url, client -> client.scheduleForName(name));
+  }
+
+  @Override
+  public CompletableFuture<String> add(Schedule schedule) {
+    return supply(url, client -> client.add(schedule));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> update(Schedule schedule) {
+    return supply(url, client -> client.update(schedule));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> delete(String id) {
+    return supply(url, client -> client.delete(id));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> deleteByName(String name) {
+    return supply(url, client -> client.deleteByName(name));
+  }
+
+  @Override
+  protected String extractPath() {
+    String result = "";
+    try {
+      URL urlObject = new URL(url);
+      result = urlObject.getPath();
+    } catch (MalformedURLException e) {
+      throw new DataValidationException("the URL is malformed, meta.db.schedule.url: " + url);
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.impl;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.edgexfoundry.controller.AsyncScheduleEventClient;
+import org.edgexfoundry.controller.ScheduleEventClient;
+import org.edgexfoundry.domain.meta.ScheduleEvent;
+import org.edgexfoundry.exception.controller.DataValidationException;
+import org.edgexfoundry.meta.client.AsyncClientTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AsyncScheduleEventClientImpl extends AsyncClientTemplate<ScheduleEventClient>
+    implements AsyncScheduleEventClient {
+
+  @Value("${meta.db.event.url}")
+  private String url;
+
+  public AsyncScheduleEventClientImpl() {
+    super(ScheduleEventClient.class);
+  }
+
+  @Override
+  public CompletableFuture<ScheduleEvent> scheduleEvent(String id) {
+    return supply(url, client -> client.scheduleEvent(id));
+  }
+
+  @Override
+  public CompletableFuture<List<ScheduleEvent>> scheduleEvents() {
+    return supply(url, client -> client.scheduleEvents());
+  }
+
+  @Override
+  public CompletableFuture<List<ScheduleEvent>> scheduleEventsForAddressable(String addressableId) {
+    return supply(url, client -> client.scheduleEventsForAddressable(addressableId));
+  }
+
+  @Override
+  public CompletableFuture<List<ScheduleEvent>> scheduleEventsForAddressableByName(
+      String addressablename) {
+    return supply(url, client -> client.scheduleEventsForAddressableByName(addressablename));
+  }
+
+  @Override
+  public CompletableFuture<List<ScheduleEvent>> scheduleEventsForServiceByName(String servicename) {
+    return supply(url, client -> client.scheduleEventsForServiceByName(servicename));
+  }
+
+  @Override
+  public CompletableFuture<ScheduleEvent> scheduleEventForName(String name) {
+    return supply(url, client -> client.scheduleEventForName(name));
+  }
+
+  @Override
+  public CompletableFuture<String> add(ScheduleEvent scheduleEvent) {
+    return supply(url, client -> client.add(scheduleEvent));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> update(ScheduleEvent scheduleEvent) {
+    return supply(url, client -> client.update(scheduleEvent));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> delete(String id) {
+    return supply(url, client -> client.delete(id));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> deleteByName(String name) {
+    return supply(url, client -> client.deleteByName(name));
+  }
+
+  @Override
+  protected String extractPath() {
+    String result = "";
+    try {
+      URL urlObject = new URL(url);
+      result = urlObject.getPath();
+    } catch (MalformedURLException e) {
+      throw new DataValidationException("the URL is malformed, meta.db.event.url: " + url);
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.impl;
+
+import java.util.List;
+
+import org.edgexfoundry.controller.AddressableClient;
+import org.edgexfoundry.domain.meta.Addressable;
+import org.edgexfoundry.meta.client.EntityCache;
+
+/**
+ * AddressableClient decorator that serves addressable(id) and addressableForName(name) from a
+ * bounded, expiring cache and only calls the wrapped client on a miss. Updates and deletes issued
+ * through this client evict the affected entries by id and name. Names reported as not found are
+ * remembered for a short time, so repeated probes for a missing name do not reach core-metadata
+ * until that time passes or the name is added through this client. Cached addressables are shared
+ * between callers and must not be modified.
+ */
+public class CachingAddressableClient implements AddressableClient {
+
+  private final AddressableClient delegate;
+  private final EntityCache<Addressable> cache;
+
+  public CachingAddressableClient(AddressableClient delegate) {
+    this(delegate, EntityCache.DEFAULT_MAX_SIZE, EntityCache.DEFAULT_TTL);
+  }
+
+  public CachingAddressableClient(AddressableClient delegate, int maxSize, long ttl) {
+    this(delegate, maxSize, ttl, EntityCache.DEFAULT_NEGATIVE_TTL);
+  }
+
+  /**
+   * @param negativeTtl milliseconds a name reported as not found is answered from the cache
+   */
+  public CachingAddressableClient(AddressableClient delegate, int maxSize, long ttl,
+      long negativeTtl) {
+    this.delegate = delegate;
+    this.cache =
+        new EntityCache<>(Addressable::getId, Addressable::getName, maxSize, ttl, negativeTtl);
+  }
+
+  public EntityCache<Addressable> getCache() {
+    return cache;
+  }
+
+  @Override
+  public Addressable addressable(String id) {
+    return cache.getById(id, delegate::addressable);
+  }
+
+  @Override
+  public List<Addressable> addressables() {
+    return delegate.addressables();
+  }
+
+  @Override
+  public Addressable addressableForName(String name) {
+    return cache.getByName(name, delegate::addressableForName);
+  }
+
+  @Override
+  public List<Addressable> addressablesByAddress(String address) {
+    return delegate.addressablesByAddress(address);
+  }
+
+  @Override
+  public List<Addressable> addressablesByPort(String port) {
+    return delegate.addressablesByPort(port);
+  }
+
+  @Override
+  public List<Addressable> addressablesByTopic(String topic) {
+    return delegate.addressablesByTopic(topic);
+  }
+
+  @Override
+  public List<Addressable> addressablesByPublisher(String publisher) {
+    return delegate.addressablesByPublisher(publisher);
+  }
+
+  @Override
+  public String add(Addressable addressable) {
+    try {
+      return delegate.add(addressable);
+    } finally {
+      cache.invalidate(addressable);
+    }
+  }
+
+  @Override
+  public boolean update(Addressable addressable) {
+    try {
+      return delegate.update(addressable);
+    } finally {
+      cache.invalidate(addressable);
+    }
+  }
+
+  @Override
+  public boolean delete(String id) {
+    try {
+      return delegate.delete(id);
+    } finally {
+      cache.invalidateId(id);
+    }
+  }
+
+  @Override
+  public boolean deleteByName(String name) {
+    try {
+      return delegate.deleteByName(name);
+    } finally {
+      cache.invalidateName(name);
+    }
+  }
+
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.impl;
+
+import java.util.List;
+
+import org.edgexfoundry.controller.CommandClient;
+import org.edgexfoundry.domain.meta.Command;
+import org.edgexfoundry.meta.client.EntityCache;
+
+/**
+ * CommandClient decorator that serves command(id) from a bounded, expiring cache and only calls
+ * the wrapped client on a miss. Updates and deletes issued through this client evict the affected
+ * entries. Command names are not unique, so commands are only indexed by id. Cached commands are
+ * shared between callers and must not be modified.
+ */
+public class CachingCommandClient implements CommandClient {
+
+  private final CommandClient delegate;
+  private final EntityCache<Command> cache;
+
+  public CachingCommandClient(CommandClient delegate) {
+    this(delegate, EntityCache.DEFAULT_MAX_SIZE, EntityCache.DEFAULT_TTL);
+  }
+
+  public CachingCommandClient(CommandClient delegate, int maxSize, long ttl) {
+    this.delegate = delegate;
+    this.cache = new EntityCache<>(Command::getId, command -> null, maxSize, ttl);
+  }
+
+  public EntityCache<Command> getCache() {
+    return cache;
+  }
+
+  @Override
+  public Command command(String id) {
+    return cache.getById(id, delegate::command);
+  }
+
+  @Override
+  public List<Command> commands() {
+    return delegate.commands();
+  }
+
+  @Override
+  public List<Command> commandsForName(String name) {
+    return delegate.commandsForName(name);
+  }
+
+  @Override
+  public String add(Command command) {
+    return delegate.add(command);
+  }
+
+  @Override
+  public boolean update(Command command) {
+    try {
+      return delegate.update(command);
+    } finally {
+      cache.invalidate(command);
+    }
+  }
+
+  @Override
+  public boolean delete(String id) {
+    try {
+      return delegate.delete(id);
+    } finally {
+      cache.invalidateId(id);
+    }
+  }
+
+}
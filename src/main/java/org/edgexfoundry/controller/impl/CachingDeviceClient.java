@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.impl;
+
+import java.util.List;
+
+import org.edgexfoundry.controller.DeviceClient;
+import org.edgexfoundry.domain.meta.Device;
+import org.edgexfoundry.meta.client.EntityCache;
+
+/**
+ * DeviceClient decorator that serves device(id) and deviceForName(name) from a bounded, expiring
+ * cache and only calls the wrapped client on a miss. Updates and deletes issued through this
+ * client evict the affected entries by id and name. Names reported as not found are remembered for
+ * a short time, so repeated probes for a missing name do not reach core-metadata until that time
+ * passes or the name is added through this client. Last connected and last reported updates do not
+ * evict, so those timestamps may lag by up to the cache TTL. Cached devices are shared between
+ * callers and must not be modified.
+ */
+public class CachingDeviceClient implements DeviceClient {
+
+  private final DeviceClient delegate;
+  private final EntityCache<Device> cache;
+
+  public CachingDeviceClient(DeviceClient delegate) {
+    this(delegate, EntityCache.DEFAULT_MAX_SIZE, EntityCache.DEFAULT_TTL);
+  }
+
+  public CachingDeviceClient(DeviceClient delegate, int maxSize, long ttl) {
+    this(delegate, maxSize, ttl, EntityCache.DEFAULT_NEGATIVE_TTL);
+  }
+
+  /**
+   * @param negativeTtl milliseconds a name reported as not found is answered from the cache
+   */
+  public CachingDeviceClient(DeviceClient delegate, int maxSize, long ttl, long negativeTtl) {
+    this.delegate = delegate;
+    this.cache = new EntityCache<>(Device::getId, Device::getName, maxSize, ttl, negativeTtl);
+  }
+
+  public EntityCache<Device> getCache() {
+    return cache;
+  }
+
+  @Override
+  public Device device(String id) {
+    return cache.getById(id, delegate::device);
+  }
+
+  @Override
+  public List<Device> devices() {
+    return delegate.devices();
+  }
+
+  @Override
+  public Device deviceForName(String name) {
+    return cache.getByName(name, delegate::deviceForName);
+  }
+
+  @Override
+  public List<Device> devicesByLabel(String label) {
+    return delegate.devicesByLabel(label);
+  }
+
+  @Override
+  public List<Device> devicesForService(String serviceId) {
+    return delegate.devicesForService(serviceId);
+  }
+
+  @Override
+  public List<Device> devicesForServiceByName(String servicename) {
+    return delegate.devicesForServiceByName(servicename);
+  }
+
+  @Override
+  public List<Device> devicesForProfile(String profileId) {
+    return delegate.devicesForProfile(profileId);
+  }
+
+  @Override
+  public List<Device> devicesForProfileByName(String profilename) {
+    return delegate.devicesForProfileByName(profilename);
+  }
+
+  @Override
+  public List<Device> devicesForAddressable(String addressableId) {
+    return delegate.devicesForAddressable(addressableId);
+  }
+
+  @Override
+  public List<Device> devicesForAddressableByName(String addressablename) {
+    return delegate.devicesForAddressableByName(addressablename);
+  }
+
+  @Override
+  public String add(Device device) {
+    try {
+      return delegate.add(device);
+    } finally {
+      cache.invalidate(device);
+    }
+  }
+
+  @Override
+  public boolean update(Device device) {
+    try {
+      return delegate.update(device);
+    } finally {
+      cache.invalidate(device);
+    }
+  }
+
+  @Override
+  public boolean updateLastConnected(String id, long time) {
+    return delegate.updateLastConnected(id, time);
+  }
+
+  @Override
+  public boolean updateLastConnected(String id, long time, boolean notify) {
+    return delegate.updateLastConnected(id, time, notify);
+  }
+
+  @Override
+  public boolean updateLastConnectedByName(String name, long time) {
+    return delegate.updateLastConnectedByName(name, time);
+  }
+
+  @Override
+  public boolean updateLastConnectedByName(String name, long time, boolean notify) {
+    return delegate.updateLastConnectedByName(name, time, notify);
+  }
+
+  @Override
+  public boolean updateLastReported(String id, long time) {
+    return delegate.updateLastReported(id, time);
+  }
+
+  @Override
+  public boolean updateLastReported(String id, long time, boolean notify) {
+    return delegate.updateLastReported(id, time, notify);
+  }
+
+  @Override
+  public boolean updateLastReportedByName(String name, long time) {
+    return delegate.updateLastReportedByName(name, time);
+  }
+
+  @Override
+  public boolean updateLastReportedByName(String name, long time, boolean notify) {
+    return delegate.updateLastReportedByName(name, time, notify);
+  }
+
+  @Override
+  public boolean updateOpState(String id, String opState) {
+    try {
+      return delegate.updateOpState(id, opState);
+    } finally {
+      cache.invalidateId(id);
+    }
+  }
+
+  @Override
+  public boolean updateOpStateByName(String name, String opState) {
+    try {
+      return delegate.updateOpStateByName(name, opState);
+    } finally {
+      cache.invalidateName(name);
+    }
+  }
+
+  @Override
+  public boolean updateAdminState(String id, String adminState) {
+    try {
+      return delegate.updateAdminState(id, adminState);
+    } finally {
+      cache.invalidateId(id);
+    }
+  }
+
+  @Override
+  public boolean updateAdminStateByName(String name, String adminState) {
+    try {
+      return delegate.updateAdminStateByName(name, adminState);
+    } finally {
+      cache.invalidateName(name);
+    }
+  }
+
+  @Override
+  public boolean delete(String id) {
+    try {
+      return delegate.delete(id);
+    } finally {
+      cache.invalidateId(id);
+    }
+  }
+
+  @Override
+  public boolean deleteByName(String name) {
+    try {
+      return delegate.deleteByName(name);
+    } finally {
+      cache.invalidateName(name);
+    }
+  }
+
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.impl;
+
+import java.util.List;
+
+import org.edgexfoundry.controller.DeviceProfileClient;
+import org.edgexfoundry.domain.meta.DeviceProfile;
+import org.edgexfoundry.meta.client.EntityCache;
+
+/**
+ * DeviceProfileClient decorator that serves deviceProfile(id) and deviceProfileForName(name) from
+ * a bounded, expiring cache and only calls the wrapped client on a miss. Updates and deletes
+ * issued through this client evict the affected entries by id and name. Names reported as not
+ * found are remembered for a short time, so repeated probes for a missing name do not reach core-
+ * metadata until that time passes or the name is added through this client. Cached device profiles
+ * are shared between callers and must not be modified.
+ */
+public class CachingDeviceProfileClient implements DeviceProfileClient {
+
+  private final DeviceProfileClient delegate;
+  private final EntityCache<DeviceProfile> cache;
+
+  public CachingDeviceProfileClient(DeviceProfileClient delegate) {
+    this(delegate, EntityCache.DEFAULT_MAX_SIZE, EntityCache.DEFAULT_TTL);
+  }
+
+  public CachingDeviceProfileClient(DeviceProfileClient delegate, int maxSize, long ttl) {
+    this(delegate, maxSize, ttl, EntityCache.DEFAULT_NEGATIVE_TTL);
+  }
+
+  /**
+   * @param negativeTtl milliseconds a name reported as not found is answered from the cache
+   */
+  public CachingDeviceProfileClient(DeviceProfileClient delegate, int maxSize, long ttl,
+      long negativeTtl) {
+    this.delegate = delegate;
+    this.cache =
+        new EntityCache<>(DeviceProfile::getId, DeviceProfile::getName, maxSize, ttl, negativeTtl);
+  }
+
+  public EntityCache<DeviceProfile> getCache() {
+    return cache;
+  }
+
+  @Override
+  public DeviceProfile deviceProfile(String id) {
+    return cache.getById(id, delegate::deviceProfile);
+  }
+
+  @Override
+  public List<DeviceProfile> deviceProfiles() {
+    return delegate.deviceProfiles();
+  }
+
+  @Override
+  public DeviceProfile deviceProfileForName(String name) {
+    return cache.getByName(name, delegate::deviceProfileForName);
+  }
+
+  @Override
+  public List<DeviceProfile> deviceProfilesByManufacturer(String manufacturer) {
+    return delegate.deviceProfilesByManufacturer(manufacturer);
+  }
+
+  @Override
+  public List<DeviceProfile> deviceProfilesByModel(String model) {
+    return delegate.deviceProfilesByModel(model);
+  }
+
+  @Override
+  public List<DeviceProfile> deviceProfilesByManufacturerOrModel(String manufacturer,
+      String model) {
+    return delegate.deviceProfilesByManufacturerOrModel(manufacturer, model);
+  }
+
+  @Override
+  public List<DeviceProfile> deviceProfilesByLabel(String label) {
+    return delegate.deviceProfilesByLabel(label);
+  }
+
+  @Override
+  public String add(DeviceProfile deviceProfile) {
+    try {
+      return delegate.add(deviceProfile);
+    } finally {
+      cache.invalidate(deviceProfile);
+    }
+  }
+
+  @Override
+  public boolean update(DeviceProfile deviceProfile) {
+    try {
+      return delegate.update(deviceProfile);
+    } finally {
+      cache.invalidate(deviceProfile);
+    }
+  }
+
+  @Override
+  public boolean delete(String id) {
+    try {
+      return delegate.delete(id);
+    } finally {
+      cache.invalidateId(id);
+    }
+  }
+
+  @Override
+  public boolean deleteByName(String name) {
+    try {
+      return delegate.deleteByName(name);
+    } finally {
+      cache.invalidateName(name);
+    }
+  }
+
+}
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.impl;
+
+import java.util.List;
+
+import org.edgexfoundry.controller.DeviceReportClient;
+import org.edgexfoundry.domain.meta.DeviceReport;
+import org.edgexfoundry.meta.client.EntityCache;
+
+/**
+ * DeviceReportClient decorator that serves deviceReport(id) and deviceReportForName(name) from a
+ * bounded, expiring cache and only calls the wrapped client on a miss. Updates and deletes issued
+ * through this client evict the affected entries by id and name. Names reported as not found are
+ * remembered for a short time, so repeated probes for a missing name do not reach core-metadata
+ * until that time passes or the name is added through this client. Cached device reports are
+ * shared between callers and must not be modified.
+ */
+public class CachingDeviceReportClient implements DeviceReportClient {
+
+  private final DeviceReportClient delegate;
+  private final EntityCache<DeviceReport> cache;
+
+  public CachingDeviceReportClient(DeviceReportClient delegate) {
+    this(delegate, EntityCache.DEFAULT_MAX_SIZE, EntityCache.DEFAULT_TTL);
+  }
+
+  public CachingDeviceReportClient(DeviceReportClient delegate, int maxSize, long ttl) {
+    this(delegate, maxSize, ttl, EntityCache.DEFAULT_NEGATIVE_TTL);
+  }
+
+  /**
+   * @param negativeTtl milliseconds a name reported as not found is answered from the cache
+   */
+  public CachingDeviceReportClient(DeviceReportClient delegate, int maxSize, long ttl,
+      long negativeTtl) {
+    this.delegate = delegate;
+    this.cache =
+        new EntityCache<>(DeviceReport::getId, DeviceReport::getName, maxSize, ttl, negativeTtl);
+  }
+
+  public EntityCache<DeviceReport> getCache() {
+    return cache;
+  }
+
+  @Override
+  public DeviceReport deviceReport(String id) {
+    return cache.getById(id, delegate::deviceReport);
+  }
+
+  @Override
+  public List<DeviceReport> deviceReports() {
+    return delegate.deviceReports();
+  }
+
+  @Override
+  public DeviceReport deviceReportForName(String name) {
+    return cache.getByName(name, delegate::deviceReportForName);
+  }
+
+  @Override
+  public List<String> associatedValueDesriptors(String devicename) {
+    return delegate.associatedValueDesriptors(devicename);
+  }
+
+  @Override
+  public List<DeviceReport> deviceReportsForDevice(String devicename) {
+    return delegate.deviceReportsForDevice(devicename);
+  }
+
+  @Override
+  public String add(DeviceReport deviceReport) {
+    try {
+      return delegate.add(deviceReport);
+    } finally {
+      cache.invalidate(deviceReport);
+    }
+  }
+
+  @Override
+  public boolean update(DeviceReport deviceReport) {
+    try {
+      return delegate.update(deviceReport);
+    } finally {
+      cache.invalidate(deviceReport);
+    }
+  }
+
+  @Override
+  public boolean delete(String id) {
+    try {
+      return delegate.delete(id);
+    } finally {
+      cache.invalidateId(id);
+    }
+  }
+
+  @Override
+  public boolean deleteByName(String name) {
+    try {
+      return delegate.deleteByName(name);
+    } finally {
+      cache.invalidateName(name);
+    }
+  }
+
+}
@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.impl;
+
+import java.util.List;
+import java.util.Set;
+
+import org.edgexfoundry.controller.DeviceServiceClient;
+import org.edgexfoundry.domain.meta.Addressable;
+import org.edgexfoundry.domain.meta.DeviceService;
+import org.edgexfoundry.meta.client.EntityCache;
+
+/**
+ * DeviceServiceClient decorator that serves deviceService(id) and deviceServiceForName(name) from
+ * a bounded, expiring cache and only calls the wrapped client on a miss. Updates and deletes
+ * issued through this client evict the affected entries by id and name. Names reported as not
+ * found are remembered for a short time, so repeated probes for a missing name do not reach core-
+ * metadata until that time passes or the name is added through this client. Last connected and
+ * last reported updates do not evict, so those timestamps may lag by up to the cache TTL. Cached
+ * device services are shared between callers and must not be modified.
+ */
+public class CachingDeviceServiceClient implements DeviceServiceClient {
+
+  private final DeviceServiceClient delegate;
+  private final EntityCache<DeviceService> cache;
+
+  public CachingDeviceServiceClient(DeviceServiceClient delegate) {
+    this(delegate, EntityCache.DEFAULT_MAX_SIZE, EntityCache.DEFAULT_TTL);
+  }
+
+  public CachingDeviceServiceClient(DeviceServiceClient delegate, int maxSize, long ttl) {
+    this(delegate, maxSize, ttl, EntityCache.DEFAULT_NEGATIVE_TTL);
+  }
+
+  /**
+   * @param negativeTtl milliseconds a name reported as not found is answered from the cache
+   */
+  public CachingDeviceServiceClient(DeviceServiceClient delegate, int maxSize, long ttl,
+      long negativeTtl) {
+    this.delegate = delegate;
+    this.cache =
+        new EntityCache<>(DeviceService::getId, DeviceService::getName, maxSize, ttl, negativeTtl);
+  }
+
+  public EntityCache<DeviceService> getCache() {
+    return cache;
+  }
+
+  @Override
+  public DeviceService deviceService(String id) {
+    return cache.getById(id, delegate::deviceService);
+  }
+
+  @Override
+  public List<DeviceService> deviceServices() {
+    return delegate.deviceServices();
+  }
+
+  @Override
+  public DeviceService deviceServiceForName(String name) {
+    return cache.getByName(name, delegate::deviceServiceForName);
+  }
+
+  @Override
+  public List<DeviceService> deviceServicesForAddressable(String addressableId) {
+    return delegate.deviceServicesForAddressable(addressableId);
+  }
+
+  @Override
+  public List<DeviceService> deviceServicesForAddressableByName(String addressablename) {
+    return delegate.deviceServicesForAddressableByName(addressablename);
+  }
+
+  @Override
+  public List<DeviceService> deviceServicesByLabel(String label) {
+    return delegate.deviceServicesByLabel(label);
+  }
+
+  @Override
+  public Set<Addressable> addressablesForAssociatedDevices(String id) {
+    return delegate.addressablesForAssociatedDevices(id);
+  }
+
+  @Override
+  public Set<Addressable> addressablesForAssociatedDevicesByName(String name) {
+    return delegate.addressablesForAssociatedDevicesByName(name);
+  }
+
+  @Override
+  public String add(DeviceService deviceService) {
+    try {
+      return delegate.add(deviceService);
+    } finally {
+      cache.invalidate(deviceService);
+    }
+  }
+
+  @Override
+  public boolean update(DeviceService deviceService) {
+    try {
+      return delegate.update(deviceService);
+    } finally {
+      cache.invalidate(deviceService);
+    }
+  }
+
+  @Override
+  public boolean updateLastConnected(String id, long time) {
+    return delegate.updateLastConnected(id, time);
+  }
+
+  @Override
+  public boolean updateLastConnectedByName(String name, long time) {
+    return delegate.updateLastConnectedByName(name, time);
+  }
+
+  @Override
+  public boolean updateLastReported(String id, long time) {
+    return delegate.updateLastReported(id, time);
+  }
+
+  @Override
+  public boolean updateLastReportedByName(String name, long time) {
+    return delegate.updateLastReportedByName(name, time);
+  }
+
+  @Override
+  public boolean updateOpState(String id, String opState) {
+    try {
+      return delegate.updateOpState(id, opState);
+    } finally {
+      cache.invalidateId(id);
+    }
+  }
+
+  @Override
+  public boolean updateOpStateByName(String name, String opState) {
+    try {
+      return delegate.updateOpStateByName(name, opState);
+    } finally {
+      cache.invalidateName(name);
+    }
+  }
+
+  @Override
+  public boolean updateAdminState(String id, String adminState) {
+    try {
+      return delegate.updateAdminState(id, adminState);
+    } finally {
+      cache.invalidateId(id);
+    }
+  }
+
+  @Override
+  public boolean updateAdminStateByName(String name, String adminState) {
+    try {
+      return delegate.updateAdminStateByName(name, adminState);
+    } finally {
+      cache.invalidateName(name);
+    }
+  }
+
+  @Override
+  public boolean delete(String id) {
+    try {
+      return delegate.delete(id);
+    } finally {
+      cache.invalidateId(id);
+    }
+  }
+
+  @Override
+  public boolean deleteByName(String name) {
+    try {
+      return delegate.deleteByName(name);
+    } finally {
+      cache.invalidateName(name);
+    }
+  }
+
+}
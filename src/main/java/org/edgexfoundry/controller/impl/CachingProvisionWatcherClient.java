@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.impl;
+
+import java.util.List;
+
+import org.edgexfoundry.controller.ProvisionWatcherClient;
+import org.edgexfoundry.domain.meta.ProvisionWatcher;
+import org.edgexfoundry.meta.client.EntityCache;
+
+/**
+ * ProvisionWatcherClient decorator that serves provisionWatcher(id) and
+ * provisionWatcherForName(name) from a bounded, expiring cache and only calls the wrapped client
+ * on a miss. Updates and deletes issued through this client evict the affected entries by id and
+ * name. Names reported as not found are remembered for a short time, so repeated probes for a
+ * missing name do not reach core-metadata until that time passes or the name is added through this
+ * client. Cached provision watchers are shared between callers and must not be modified.
+ */
+public class CachingProvisionWatcherClient implements ProvisionWatcherClient {
+
+  private final ProvisionWatcherClient delegate;
+  private final EntityCache<ProvisionWatcher> cache;
+
+  public CachingProvisionWatcherClient(ProvisionWatcherClient delegate) {
+    this(delegate, EntityCache.DEFAULT_MAX_SIZE, EntityCache.DEFAULT_TTL);
+  }
+
+  public CachingProvisionWatcherClient(ProvisionWatcherClient delegate, int maxSize, long ttl) {
+    this(delegate, maxSize, ttl, EntityCache.DEFAULT_NEGATIVE_TTL);
+  }
+
+  /**
+   * @param negativeTtl milliseconds a name reported as not found is answered from the cache
+   */
+  public CachingProvisionWatcherClient(ProvisionWatcherClient delegate, int maxSize, long ttl,
+      long negativeTtl) {
+    this.delegate = delegate;
+    this.cache = new EntityCache<>(ProvisionWatcher::getId, ProvisionWatcher::getName, maxSize,
+        ttl, negativeTtl);
+  }
+
+  public EntityCache<ProvisionWatcher> getCache() {
+    return cache;
+  }
+
+  @Override
+  public ProvisionWatcher provisionWatcher(String id) {
+    return cache.getById(id, delegate::provisionWatcher);
+  }
+
+  @Override
+  public List<ProvisionWatcher> provisionWatchers() {
+    return delegate.provisionWatchers();
+  }
+
+  @Override
+  public ProvisionWatcher provisionWatcherForName(String name) {
+    return cache.getByName(name, delegate::provisionWatcherForName);
+  }
+
+  @Override
+  public List<ProvisionWatcher> provisionWatcherForProfile(String profileId) {
+    return delegate.provisionWatcherForProfile(profileId);
+  }
+
+  @Override
+  public List<ProvisionWatcher> provisionWatcherForProfileByName(String profilename) {
+    return delegate.provisionWatcherForProfileByName(profilename);
+  }
+
+  @Override
+  public List<ProvisionWatcher> provisionWatcherForService(String serviceId) {
+    return delegate.provisionWatcherForService(serviceId);
+  }
+
+  @Override
+  public List<ProvisionWatcher> provisionWatcherForServiceByName(String servicename) {
+    return delegate.provisionWatcherForServiceByName(servicename);
+  }
+
+  @Override
+  public List<ProvisionWatcher> watchersForIdentifier(String key, String value) {
+    return delegate.watchersForIdentifier(key, value);
+  }
+
+  @Override
+  public String add(ProvisionWatcher provisionWatcher) {
+    try {
+      return delegate.add(provisionWatcher);
+    } finally {
+      cache.invalidate(provisionWatcher);
+    }
+  }
+
+  @Override
+  public boolean update(ProvisionWatcher provisionWatcher) {
+    try {
+      return delegate.update(provisionWatcher);
+    } finally {
+      cache.invalidate(provisionWatcher);
+    }
+  }
+
+  @Override
+  public boolean delete(String id) {
+    try {
+      return delegate.delete(id);
+    } finally {
+      cache.invalidateId(id);
+    }
+  }
+
+  @Override
+  public boolean deleteByName(String name) {
+    try {
+      return delegate.deleteByName(name);
+    } finally {
+      cache.invalidateName(name);
+    }
+  }
+
+}
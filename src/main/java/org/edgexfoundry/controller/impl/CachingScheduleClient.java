@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.impl;
+
+import java.util.List;
+
+import org.edgexfoundry.controller.ScheduleClient;
+import org.edgexfoundry.domain.meta.Schedule;
+import org.edgexfoundry.meta.client.EntityCache;
+
+/**
+ * ScheduleClient decorator that serves schedule(id) and scheduleForName(name) from a bounded,
+ * expiring cache and only calls the wrapped client on a miss. Updates and deletes issued through
+ * this client evict the affected entries by id and name. Names reported as not found are
+ * remembered for a short time, so repeated probes for a missing name do not reach core-metadata
+ * until that time passes or the name is added through this client. Cached schedules are shared
+ * between callers and must not be modified.
+ */
+public class CachingScheduleClient implements ScheduleClient {
+
+  private final ScheduleClient delegate;
+  private final EntityCache<Schedule> cache;
+
+  public CachingScheduleClient(ScheduleClient delegate) {
+    this(delegate, EntityCache.DEFAULT_MAX_SIZE, EntityCache.DEFAULT_TTL);
+  }
+
+  public CachingScheduleClient(ScheduleClient delegate, int maxSize, long ttl) {
+    this(delegate, maxSize, ttl, EntityCache.DEFAULT_NEGATIVE_TTL);
+  }
+
+  /**
+   * @param negativeTtl milliseconds a name reported as not found is answered from the cache
+   */
+  public CachingScheduleClient(ScheduleClient delegate, int maxSize, long ttl, long negativeTtl) {
+    this.delegate = delegate;
+    this.cache = new EntityCache<>(Schedule::getId, Schedule::getName, maxSize, ttl, negativeTtl);
+  }
+
+  public EntityCache<Schedule> getCache() {
+    return cache;
+  }
+
+  @Override
+  public Schedule schedule(String id) {
+    return cache.getById(id, delegate::schedule);
+  }
+
+  @Override
+  public List<Schedule> schedules() {
+    return delegate.schedules();
+  }
+
+  @Override
+  public Schedule scheduleForName(String name) {
+    return cache.getByName(name, delegate::scheduleForName);
+  }
+
+  @Override
+  public String add(Schedule schedule) {
+    try {
+      return delegate.add(schedule);
+    } finally {
+      cache.invalidate(schedule);
+    }
+  }
+
+  @Override
+  public boolean update(Schedule schedule) {
+    try {
+      return delegate.update(schedule);
+    } finally {
+      cache.invalidate(schedule);
+    }
+  }
+
+  @Override
+  public boolean delete(String id) {
+    try {
+      return delegate.delete(id);
+    } finally {
+      cache.invalidateId(id);
+    }
+  }
+
+  @Override
+  public boolean deleteByName(String name) {
+    try {
+      return delegate.deleteByName(name);
+    } finally {
+      cache.invalidateName(name);
+    }
+  }
+
+}
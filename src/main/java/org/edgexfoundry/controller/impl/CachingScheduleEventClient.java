@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.impl;
+
+import java.util.List;
+
+import org.edgexfoundry.controller.ScheduleEventClient;
+import org.edgexfoundry.domain.meta.ScheduleEvent;
+import org.edgexfoundry.meta.client.EntityCache;
+
+/**
+ * ScheduleEventClient decorator that serves scheduleEvent(id) and scheduleEventForName(name) from
+ * a bounded, expiring cache and only calls the wrapped client on a miss. Updates and deletes
+ * issued through this client evict the affected entries by id and name. Names reported as not
+ * found are remembered for a short time, so repeated probes for a missing name do not reach core-
+ * metadata until that time passes or the name is added through this client. Cached schedule events
+ * are shared between callers and must not be modified.
+ */
+public class CachingScheduleEventClient implements ScheduleEventClient {
+
+  private final ScheduleEventClient delegate;
+  private final EntityCache<ScheduleEvent> cache;
+
+  public CachingScheduleEventClient(ScheduleEventClient delegate) {
+    this(delegate, EntityCache.DEFAULT_MAX_SIZE, EntityCache.DEFAULT_TTL);
+  }
+
+  public CachingScheduleEventClient(ScheduleEventClient delegate, int maxSize, long ttl) {
+    this(delegate, maxSize, ttl, EntityCache.DEFAULT_NEGATIVE_TTL);
+  }
+
+  /**
+   * @param negativeTtl milliseconds a name reported as not found is answered from the cache
+   */
+  public CachingScheduleEventClient(ScheduleEventClient delegate, int maxSize, long ttl,
+      long negativeTtl) {
+    this.delegate = delegate;
+    this.cache =
+        new EntityCache<>(ScheduleEvent::getId, ScheduleEvent::getName, maxSize, ttl, negativeTtl);
+  }
+
+  public EntityCache<ScheduleEvent> getCache() {
+    return cache;
+  }
+
+  @Override
+  public ScheduleEvent scheduleEvent(String id) {
+    return cache.getById(id, delegate::scheduleEvent);
+  }
+
+  @Override
+  public List<ScheduleEvent> scheduleEvents() {
+    return delegate.scheduleEvents();
+  }
+
+  @Override
+  public List<ScheduleEvent> scheduleEventsForAddressable(String addressableId) {
+    return delegate.scheduleEventsForAddressable(addressableId);
+  }
+
+  @Override
+  public List<ScheduleEvent> scheduleEventsForAddressableByName(String addressablename) {
+    return delegate.scheduleEventsForAddressableByName(addressablename);
+  }
+
+  @Override
+  public List<ScheduleEvent> scheduleEventsForServiceByName(String servicename) {
+    return delegate.scheduleEventsForServiceByName(servicename);
+  }
+
+  @Override
+  public ScheduleEvent scheduleEventForName(String name) {
+    return cache.getByName(name, delegate::scheduleEventForName);
+  }
+
+  @Override
+  public String add(ScheduleEvent scheduleEvent) {
+    try {
+      return delegate.add(scheduleEvent);
+    } finally {
+      cache.invalidate(scheduleEvent);
+    }
+  }
+
+  @Override
+  public boolean update(ScheduleEvent scheduleEvent) {
+    try {
+      return delegate.update(scheduleEvent);
+    } finally {
+      cache.invalidate(scheduleEvent);
+    }
+  }
+
+  @Override
+  public boolean delete(String id) {
+    try {
+      return delegate.delete(id);
+    } finally {
+      cache.invalidateId(id);
+    }
+  }
+
+  @Override
+  public boolean deleteByName(String name) {
+    try {
+      return delegate.deleteByName(name);
+    } finally {
+      cache.invalidateName(name);
+    }
+  }
+
+}
@@ -26,9 +26,6 @@ import org.edgexfoundry.controller.CommandClient;
 import org.edgexfoundry.domain.meta.Command;
 import org.edgexfoundry.exception.controller.DataValidationException;
 import org.edgexfoundry.meta.client.ConsulDiscoveryClientTemplate;
-import org.jboss.resteasy.client.jaxrs.ResteasyClient;
-import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
-import org.jboss.resteasy.client.jaxrs.ResteasyWebTarget;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -40,17 +37,17 @@ public class CommandClientImpl extends ConsulDiscoveryClientTemplate implements
 
   @Override
   public Command command(String id) {
-    return getClient().command(id);
+    return coalesce(() -> getClient().command(id), "command", id);
   }
 
   @Override
   public List<Command> commands() {
-    return getClient().commands();
+    return coalesce(() -> getClient().commands(), "commands");
   }
 
   @Override
   public List<Command> commandsForName(String name) {
-    return getClient().commandsForName(name);
+    return coalesce(() -> getClient().commandsForName(name), "commandsForName", name);
   }
 
   @Override
@@ -69,17 +66,7 @@ public class CommandClientImpl extends ConsulDiscoveryClientTemplate implements
   }
 
   private CommandClient getClient() {
-    ResteasyClient client = new ResteasyClientBuilder().build();
-    ResteasyWebTarget target;
-
-    String rootUrl = super.getRootUrl();
-    if (rootUrl == null || rootUrl.isEmpty()) {
-      target = client.target(url);
-    } else {
-      target = client.target(rootUrl + super.getPath());
-    }
-
-    return target.proxy(CommandClient.class);
+    return super.getProxy(CommandClient.class, url);
   }
 
   @Override
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.impl;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.edgexfoundry.controller.DeviceClient;
+import org.edgexfoundry.domain.meta.Device;
+import org.edgexfoundry.exception.controller.DataValidationException;
+import org.edgexfoundry.meta.client.BatchExecutor;
+import org.edgexfoundry.meta.client.BatchListener;
+import org.edgexfoundry.meta.client.BatchResult;
+
+/**
+ * Looks up and adds many devices at once by fanning single calls out over a BatchExecutor. Wrap a
+ * CachingDeviceClient to have cached devices answered without a request.
+ */
+public class DeviceBatchClient {
+
+  private final DeviceClient client;
+  private final BatchExecutor batch;
+
+  public DeviceBatchClient(DeviceClient client) {
+    this(client, new BatchExecutor());
+  }
+
+  public DeviceBatchClient(DeviceClient client, BatchExecutor batch) {
+    this.client = client;
+    this.batch = batch;
+  }
+
+  public BatchResult<String, Device> devicesForIds(Collection<String> ids) {
+    return batch.apply(ids, client::device);
+  }
+
+  public BatchResult<String, Device> devicesForNames(Collection<String> names) {
+    return batch.apply(names, client::deviceForName);
+  }
+
+  public BatchResult<String, String> addAll(Collection<Device> devices) {
+    return addAll(devices, null);
+  }
+
+  /**
+   * Adds every device, keeping as many adds in flight as the BatchExecutor allows; size the
+   * connection pool (client.max-connections-per-route) to at least that concurrency. One failed
+   * add does not stop the others.
+   *
+   * @return the new id of every added device and the failure of every other one, by device name
+   */
+  public BatchResult<String, String> addAll(Collection<Device> devices,
+      BatchListener<String> listener) {
+    Map<String, Device> byName = new LinkedHashMap<>();
+    for (Device device : devices) {
+      if (device.getName() == null) {
+        throw new DataValidationException("device to add has no name");
+      }
+      if (byName.put(device.getName(), device) != null) {
+        throw new DataValidationException("device name appears more than once: "
+            + device.getName());
+      }
+    }
+    return batch.apply(byName.keySet(), name -> client.add(byName.get(name)), listener);
+  }
+
+}
@@ -26,9 +26,6 @@ import org.edgexfoundry.controller.DeviceClient;
 import org.edgexfoundry.domain.meta.Device;
 import org.edgexfoundry.exception.controller.DataValidationException;
 import org.edgexfoundry.meta.client.ConsulDiscoveryClientTemplate;
-import org.jboss.resteasy.client.jaxrs.ResteasyClient;
-import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
-import org.jboss.resteasy.client.jaxrs.ResteasyWebTarget;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -40,52 +37,56 @@ public class DeviceClientImpl extends ConsulDiscoveryClientTemplate implements D
 
   @Override
   public Device device(String id) {
-    return getClient().device(id);
+    return coalesce(() -> getClient().device(id), "device", id);
   }
 
   @Override
   public List<Device> devices() {
-    return getClient().devices();
+    return coalesce(() -> getClient().devices(), "devices");
   }
 
   @Override
   public Device deviceForName(String name) {
-    return getClient().deviceForName(name);
+    return coalesce(() -> getClient().deviceForName(name), "deviceForName", name);
   }
 
   @Override
   public List<Device> devicesByLabel(String label) {
-    return getClient().devicesByLabel(label);
+    return coalesce(() -> getClient().devicesByLabel(label), "devicesByLabel", label);
   }
 
   @Override
   public List<Device> devicesForService(String serviceId) {
-    return getClient().devicesForService(serviceId);
+    return coalesce(() -> getClient().devicesForService(serviceId), "devicesForService", serviceId);
   }
 
   @Override
   public List<Device> devicesForServiceByName(String servicename) {
-    return getClient().devicesForServiceByName(servicename);
+    return coalesce(() -> getClient().devicesForServiceByName(servicename),
+        "devicesForServiceByName", servicename);
   }
 
   @Override
   public List<Device> devicesForProfile(String profileId) {
-    return getClient().devicesForProfile(profileId);
+    return coalesce(() -> getClient().devicesForProfile(profileId), "devicesForProfile", profileId);
   }
 
   @Override
   public List<Device> devicesForProfileByName(String profilename) {
-    return getClient().devicesForProfileByName(profilename);
+    return coalesce(() -> getClient().devicesForProfileByName(profilename),
+        "devicesForProfileByName", profilename);
   }
 
   @Override
   public List<Device> devicesForAddressable(String addressableId) {
-    return getClient().devicesForAddressable(addressableId);
+    return coalesce(() -> getClient().devicesForAddressable(addressableId),
+        "devicesForAddressable", addressableId);
   }
 
   @Override
   public List<Device> devicesForAddressableByName(String addressablename) {
-    return getClient().devicesForAddressableByName(addressablename);
+    return coalesce(() -> getClient().devicesForAddressableByName(addressablename),
+        "devicesForAddressableByName", addressablename);
   }
 
   @Override
@@ -100,42 +101,50 @@ public class DeviceClientImpl extends ConsulDiscoveryClientTemplate implements D
 
   @Override
   public boolean updateLastConnected(String id, long time) {
-    return getClient().updateLastConnected(id, time);
+    return writeBehind(t -> getClient().updateLastConnected(id, t), time, false,
+        "updateLastConnected", id);
   }
 
   @Override
   public boolean updateLastConnected(String id, long time, boolean notify) {
-    return getClient().updateLastConnected(id, time, notify);
+    return writeBehind(t -> getClient().updateLastConnected(id, t, notify), time, notify,
+        "updateLastConnected", id);
   }
 
   @Override
   public boolean updateLastConnectedByName(String name, long time) {
-    return getClient().updateLastConnectedByName(name, time);
+    return writeBehind(t -> getClient().updateLastConnectedByName(name, t), time, false,
+        "updateLastConnectedByName", name);
   }
 
   @Override
   public boolean updateLastConnectedByName(String name, long time, boolean notify) {
-    return getClient().updateLastConnectedByName(name, time, notify);
+    return writeBehind(t -> getClient().updateLastConnectedByName(name, t, notify), time, notify,
+        "updateLastConnectedByName", name);
   }
 
   @Override
   public boolean updateLastReported(String id, long time) {
-    return getClient().updateLastReported(id, time);
+    return writeBehind(t -> getClient().updateLastReported(id, t), time, false,
+        "updateLastReported", id);
   }
 
   @Override
   public boolean updateLastReported(String id, long time, boolean notify) {
-    return getClient().updateLastReported(id, time, notify);
+    return writeBehind(t -> getClient().updateLastReported(id, t, notify), time, notify,
+        "updateLastReported", id);
   }
 
   @Override
   public boolean updateLastReportedByName(String name, long time) {
-    return getClient().updateLastReportedByName(name, time);
+    return writeBehind(t -> getClient().updateLastReportedByName(name, t), time, false,
+        "updateLastReportedByName", name);
   }
 
   @Override
   public boolean updateLastReportedByName(String name, long time, boolean notify) {
-    return getClient().updateLastReportedByName(name, time, notify);
+    return writeBehind(t -> getClient().updateLastReportedByName(name, t, notify), time, notify,
+        "updateLastReportedByName", name);
   }
 
   @Override
@@ -169,17 +178,7 @@ public class DeviceClientImpl extends ConsulDiscoveryClientTemplate implements D
   }
 
   private DeviceClient getClient() {
-    ResteasyClient client = new ResteasyClientBuilder().build();
-    ResteasyWebTarget target;
-
-    String rootUrl = super.getRootUrl();
-    if (rootUrl == null || rootUrl.isEmpty()) {
-      target = client.target(url);
-    } else {
-      target = client.target(rootUrl + super.getPath());
-    }
-
-    return target.proxy(DeviceClient.class);
+    return super.getProxy(DeviceClient.class, url);
   }
 
   @Override
@@ -26,9 +26,6 @@ import org.edgexfoundry.controller.DeviceProfileClient;
 import org.edgexfoundry.domain.meta.DeviceProfile;
 import org.edgexfoundry.exception.controller.DataValidationException;
 import org.edgexfoundry.meta.client.ConsulDiscoveryClientTemplate;
-import org.jboss.resteasy.client.jaxrs.ResteasyClient;
-import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
-import org.jboss.resteasy.client.jaxrs.ResteasyWebTarget;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -41,38 +38,40 @@ public class DeviceProfileClientImpl extends ConsulDiscoveryClientTemplate
 
   @Override
   public DeviceProfile deviceProfile(String id) {
-    return getClient().deviceProfile(id);
+    return coalesce(() -> getClient().deviceProfile(id), "deviceProfile", id);
   }
 
   @Override
   public List<DeviceProfile> deviceProfiles() {
-    return getClient().deviceProfiles();
+    return coalesce(() -> getClient().deviceProfiles(), "deviceProfiles");
   }
 
   @Override
   public DeviceProfile deviceProfileForName(String name) {
-    return getClient().deviceProfileForName(name);
+    return coalesce(() -> getClient().deviceProfileForName(name), "deviceProfileForName", name);
   }
 
   @Override
   public List<DeviceProfile> deviceProfilesByManufacturer(String manufacturer) {
-    return getClient().deviceProfilesByManufacturer(manufacturer);
+    return coalesce(() -> getClient().deviceProfilesByManufacturer(manufacturer),
+        "deviceProfilesByManufacturer", manufacturer);
   }
 
   @Override
   public List<DeviceProfile> deviceProfilesByModel(String model) {
-    return getClient().deviceProfilesByModel(model);
+    return coalesce(() -> getClient().deviceProfilesByModel(model), "deviceProfilesByModel", model);
   }
 
   @Override
   public List<DeviceProfile> deviceProfilesByManufacturerOrModel(String manufacturer,
       String model) {
-    return getClient().deviceProfilesByManufacturerOrModel(manufacturer, model);
+    return coalesce(() -> getClient().deviceProfilesByManufacturerOrModel(manufacturer, model),
+        "deviceProfilesByManufacturerOrModel", manufacturer, model);
   }
 
   @Override
   public List<DeviceProfile> deviceProfilesByLabel(String label) {
-    return getClient().deviceProfilesByLabel(label);
+    return coalesce(() -> getClient().deviceProfilesByLabel(label), "deviceProfilesByLabel", label);
   }
 
   @Override
@@ -96,17 +95,7 @@ public class DeviceProfileClientImpl extends ConsulDiscoveryClientTemplate
   }
 
   private DeviceProfileClient getClient() {
-    ResteasyClient client = new ResteasyClientBuilder().build();
-    ResteasyWebTarget target;
-
-    String rootUrl = super.getRootUrl();
-    if (rootUrl == null || rootUrl.isEmpty()) {
-      target = client.target(url);
-    } else {
-      target = client.target(rootUrl + super.getPath());
-    }
-
-    return target.proxy(DeviceProfileClient.class);
+    return super.getProxy(DeviceProfileClient.class, url);
   }
 
   @Override
@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.impl;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.edgexfoundry.controller.DeviceProfileClient;
+import org.edgexfoundry.domain.meta.DeviceProfile;
+import org.edgexfoundry.exception.controller.DataValidationException;
+import org.edgexfoundry.meta.client.BatchExecutor;
+import org.edgexfoundry.meta.client.BatchResult;
+import org.edgexfoundry.meta.client.ObjectMapperResolver;
+
+/**
+ * Imports the device profiles found as JSON files in a directory. Files are read in parallel and
+ * every profile is compared by content hash against the copy core-metadata already holds, so only
+ * new profiles are added and only changed ones are updated. YAML profiles are not read; convert
+ * them to JSON first.
+ */
+public class DeviceProfileImporter {
+
+  public enum Outcome {
+    ADDED, UPDATED, UNCHANGED
+  }
+
+  // assigned by core-metadata, so they never count as a change
+  private static final List<String> SERVER_FIELDS =
+      Arrays.asList("id", "created", "modified", "origin");
+
+  private final DeviceProfileClient client;
+  private final BatchExecutor batch;
+  private final ObjectMapper mapper = ObjectMapperResolver.mapper();
+
+  public DeviceProfileImporter(DeviceProfileClient client) {
+    this(client, new BatchExecutor());
+  }
+
+  public DeviceProfileImporter(DeviceProfileClient client, BatchExecutor batch) {
+    this.client = client;
+    this.batch = batch;
+  }
+
+  /**
+   * @return the outcome for every imported profile by profile name; a file that cannot be read is
+   *         reported under its path instead
+   */
+  public BatchResult<String, Outcome> importDirectory(Path directory) {
+    List<String> files = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.json")) {
+      for (Path file : stream) {
+        files.add(file.toString());
+      }
+    } catch (IOException e) {
+      throw new DataValidationException("cannot list device profiles in " + directory + ": "
+          + e.getMessage());
+    }
+    BatchResult<String, DeviceProfile> loaded = batch.apply(files, this::read);
+    Map<String, RuntimeException> errors = new LinkedHashMap<>(loaded.getErrors());
+    Map<String, DeviceProfile> profiles = new LinkedHashMap<>();
+    for (Map.Entry<String, DeviceProfile> entry : loaded.getValues().entrySet()) {
+      String name = entry.getValue().getName();
+      if (name == null) {
+        errors.put(entry.getKey(), new DataValidationException("device profile has no name"));
+      } else if (profiles.put(name, entry.getValue()) != null) {
+        errors.put(entry.getKey(),
+            new DataValidationException("device profile name appears more than once: " + name));
+      }
+    }
+    BatchResult<String, Outcome> imported = importProfiles(profiles);
+    errors.putAll(imported.getErrors());
+    return new BatchResult<>(imported.getValues(), errors);
+  }
+
+  /**
+   * Adds the profiles core-metadata does not know by name and updates the ones whose content
+   * differs from the server copy. The given profiles are not modified; an update is sent as a copy
+   * carrying the id of the server copy, and an update core-metadata refuses is reported as an
+   * error.
+   */
+  public BatchResult<String, Outcome> importProfiles(Map<String, DeviceProfile> profiles) {
+    Map<String, DeviceProfile> existing = new HashMap<>();
+    for (DeviceProfile profile : client.deviceProfiles()) {
+      existing.put(profile.getName(), profile);
+    }
+    return batch.apply(profiles.keySet(), name -> {
+      DeviceProfile profile = profiles.get(name);
+      DeviceProfile current = existing.get(name);
+      if (current == null) {
+        client.add(profile);
+        return Outcome.ADDED;
+      }
+      if (contentHash(current).equals(contentHash(profile))) {
+        return Outcome.UNCHANGED;
+      }
+      DeviceProfile update = copy(profile);
+      update.setId(current.getId());
+      if (!client.update(update)) {
+        throw new DataValidationException("core-metadata did not update device profile " + name);
+      }
+      return Outcome.UPDATED;
+    });
+  }
+
+  /**
+   * Hash of the profile content with the server-assigned fields left out and all properties in a
+   * fixed order, so a profile read from a file and its server copy hash alike.
+   */
+  public String contentHash(DeviceProfile profile) {
+    try {
+      Object canonical = canonicalize(mapper.convertValue(profile, Map.class));
+      byte[] digest = MessageDigest.getInstance("SHA-256")
+          .digest(mapper.writeValueAsBytes(canonical));
+      return Base64.getEncoder().encodeToString(digest);
+    } catch (IOException | NoSuchAlgorithmException e) {
+      throw new DataValidationException("cannot hash device profile " + profile.getName() + ": "
+          + e.getMessage());
+    }
+  }
+
+  private DeviceProfile read(String file) {
+    try {
+      return mapper.readValue(Files.readAllBytes(Paths.get(file)), DeviceProfile.class);
+    } catch (IOException e) {
+      throw new DataValidationException("cannot read device profile " + file + ": "
+          + e.getMessage());
+    }
+  }
+
+  // convertValue hands back the same instance for a matching type, so copy through the bytes
+  private DeviceProfile copy(DeviceProfile profile) {
+    try {
+      return mapper.readValue(mapper.writeValueAsBytes(profile), DeviceProfile.class);
+    } catch (IOException e) {
+      throw new DataValidationException("cannot copy device profile " + profile.getName() + ": "
+          + e.getMessage());
+    }
+  }
+
+  private static Object canonicalize(Object value) {
+    if (value instanceof Map) {
+      Map<String, Object> sorted = new TreeMap<>();
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        String key = String.valueOf(entry.getKey());
+        if (!SERVER_FIELDS.contains(key)) {
+          sorted.put(key, canonicalize(entry.getValue()));
+        }
+      }
+      return sorted;
+    }
+    if (value instanceof List) {
+      List<Object> values = new ArrayList<>();
+      for (Object element : (List<?>) value) {
+        values.add(canonicalize(element));
+      }
+      return values;
+    }
+    return value;
+  }
+
+}
@@ -26,9 +26,6 @@ import org.edgexfoundry.controller.DeviceReportClient;
 import org.edgexfoundry.domain.meta.DeviceReport;
 import org.edgexfoundry.exception.controller.DataValidationException;
 import org.edgexfoundry.meta.client.ConsulDiscoveryClientTemplate;
-import org.jboss.resteasy.client.jaxrs.ResteasyClient;
-import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
-import org.jboss.resteasy.client.jaxrs.ResteasyWebTarget;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -41,27 +38,29 @@ public class DeviceReportClientImpl extends ConsulDiscoveryClientTemplate
 
   @Override
   public DeviceReport deviceReport(String id) {
-    return getClient().deviceReport(id);
+    return coalesce(() -> getClient().deviceReport(id), "deviceReport", id);
   }
 
   @Override
   public List<DeviceReport> deviceReports() {
-    return getClient().deviceReports();
+    return coalesce(() -> getClient().deviceReports(), "deviceReports");
   }
 
   @Override
   public DeviceReport deviceReportForName(String name) {
-    return getClient().deviceReportForName(name);
+    return coalesce(() -> getClient().deviceReportForName(name), "deviceReportForName", name);
   }
 
   @Override
   public List<String> associatedValueDesriptors(String devicename) {
-    return getClient().associatedValueDesriptors(devicename);
+    return coalesce(() -> getClient().associatedValueDesriptors(devicename),
+        "associatedValueDesriptors", devicename);
   }
 
   @Override
   public List<DeviceReport> deviceReportsForDevice(String devicename) {
-    return getClient().deviceReportsForDevice(devicename);
+    return coalesce(() -> getClient().deviceReportsForDevice(devicename),
+        "deviceReportsForDevice", devicename);
   }
 
   @Override
@@ -85,17 +84,7 @@ public class DeviceReportClientImpl extends ConsulDiscoveryClientTemplate
   }
 
   private DeviceReportClient getClient() {
-    ResteasyClient client = new ResteasyClientBuilder().build();
-    ResteasyWebTarget target;
-
-    String rootUrl = super.getRootUrl();
-    if (rootUrl == null || rootUrl.isEmpty()) {
-      target = client.target(url);
-    } else {
-      target = client.target(rootUrl + super.getPath());
-    }
-
-    return target.proxy(DeviceReportClient.class);
+    return super.getProxy(DeviceReportClient.class, url);
   }
 
   @Override
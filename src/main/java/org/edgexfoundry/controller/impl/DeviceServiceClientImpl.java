@@ -28,9 +28,6 @@ import org.edgexfoundry.domain.meta.Addressable;
 import org.edgexfoundry.domain.meta.DeviceService;
 import org.edgexfoundry.exception.controller.DataValidationException;
 import org.edgexfoundry.meta.client.ConsulDiscoveryClientTemplate;
-import org.jboss.resteasy.client.jaxrs.ResteasyClient;
-import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
-import org.jboss.resteasy.client.jaxrs.ResteasyWebTarget;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -43,42 +40,46 @@ public class DeviceServiceClientImpl extends ConsulDiscoveryClientTemplate
 
   @Override
   public DeviceService deviceService(String id) {
-    return getClient().deviceService(id);
+    return coalesce(() -> getClient().deviceService(id), "deviceService", id);
   }
 
   @Override
   public List<DeviceService> deviceServices() {
-    return getClient().deviceServices();
+    return coalesce(() -> getClient().deviceServices(), "deviceServices");
   }
 
   @Override
   public DeviceService deviceServiceForName(String name) {
-    return getClient().deviceServiceForName(name);
+    return coalesce(() -> getClient().deviceServiceForName(name), "deviceServiceForName", name);
   }
 
   @Override
   public List<DeviceService> deviceServicesForAddressable(String addressableId) {
-    return getClient().deviceServicesForAddressable(addressableId);
+    return coalesce(() -> getClient().deviceServicesForAddressable(addressableId),
+        "deviceServicesForAddressable", addressableId);
   }
 
   @Override
   public List<DeviceService> deviceServicesForAddressableByName(String addressablename) {
-    return getClient().deviceServicesForAddressableByName(addressablename);
+    return coalesce(() -> getClient().deviceServicesForAddressableByName(addressablename),
+        "deviceServicesForAddressableByName", addressablename);
   }
 
   @Override
   public List<DeviceService> deviceServicesByLabel(String label) {
-    return getClient().deviceServicesByLabel(label);
+    return coalesce(() -> getClient().deviceServicesByLabel(label), "deviceServicesByLabel", label);
   }
 
   @Override
   public Set<Addressable> addressablesForAssociatedDevices(String id) {
-    return getClient().addressablesForAssociatedDevices(id);
+    return coalesce(() -> getClient().addressablesForAssociatedDevices(id),
+        "addressablesForAssociatedDevices", id);
   }
 
   @Override
   public Set<Addressable> addressablesForAssociatedDevicesByName(String name) {
-    return getClient().addressablesForAssociatedDevicesByName(name);
+    return coalesce(() -> getClient().addressablesForAssociatedDevicesByName(name),
+        "addressablesForAssociatedDevicesByName", name);
   }
 
   @Override
@@ -93,22 +94,26 @@ public class DeviceServiceClientImpl extends ConsulDiscoveryClientTemplate
 
   @Override
   public boolean updateLastConnected(String id, long time) {
-    return getClient().updateLastConnected(id, time);
+    return writeBehind(t -> getClient().updateLastConnected(id, t), time, false,
+        "updateLastConnected", id);
   }
 
   @Override
   public boolean updateLastConnectedByName(String name, long time) {
-    return getClient().updateLastConnectedByName(name, time);
+    return writeBehind(t -> getClient().updateLastConnectedByName(name, t), time, false,
+        "updateLastConnectedByName", name);
   }
 
   @Override
   public boolean updateLastReported(String id, long time) {
-    return getClient().updateLastReported(id, time);
+    return writeBehind(t -> getClient().updateLastReported(id, t), time, false,
+        "updateLastReported", id);
   }
 
   @Override
   public boolean updateLastReportedByName(String name, long time) {
-    return getClient().updateLastReportedByName(name, time);
+    return writeBehind(t -> getClient().updateLastReportedByName(name, t), time, false,
+        "updateLastReportedByName", name);
   }
 
   @Override
@@ -142,17 +147,7 @@ public class DeviceServiceClientImpl extends ConsulDiscoveryClientTemplate
   }
 
   private DeviceServiceClient getClient() {
-    ResteasyClient client = new ResteasyClientBuilder().build();
-    ResteasyWebTarget target;
-
-    String rootUrl = super.getRootUrl();
-    if (rootUrl == null || rootUrl.isEmpty()) {
-      target = client.target(url);
-    } else {
-      target = client.target(rootUrl + super.getPath());
-    }
-
-    return target.proxy(DeviceServiceClient.class);
+    return super.getProxy(DeviceServiceClient.class, url);
   }
 
   @Override
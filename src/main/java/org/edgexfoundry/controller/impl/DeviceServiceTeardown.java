@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import javax.ws.rs.NotFoundException;
+
+import org.edgexfoundry.controller.AddressableClient;
+import org.edgexfoundry.controller.DeviceClient;
+import org.edgexfoundry.controller.DeviceReportClient;
+import org.edgexfoundry.controller.DeviceServiceClient;
+import org.edgexfoundry.controller.ProvisionWatcherClient;
+import org.edgexfoundry.controller.ScheduleEventClient;
+import org.edgexfoundry.domain.meta.Addressable;
+import org.edgexfoundry.domain.meta.Device;
+import org.edgexfoundry.domain.meta.DeviceReport;
+import org.edgexfoundry.domain.meta.DeviceService;
+import org.edgexfoundry.domain.meta.ProvisionWatcher;
+import org.edgexfoundry.domain.meta.ScheduleEvent;
+import org.edgexfoundry.exception.controller.DataValidationException;
+import org.edgexfoundry.meta.client.BatchExecutor;
+import org.edgexfoundry.meta.client.BatchResult;
+
+/**
+ * Removes a device service together with everything that depends on it. Deletes run in parallel
+ * waves, each wave only starting once the objects referring to it are gone:
+ * <ol>
+ * <li>device reports of its devices and its provision watchers</li>
+ * <li>its devices and its schedule events, which device reports refer to</li>
+ * <li>the device service</li>
+ * <li>the addressables of all of the above that nothing else refers to any more</li>
+ * </ol>
+ * A wave with failures stops the teardown, so nothing is left referring to a deleted object.
+ * Nothing is deleted at all when device reports of other services' devices still refer to one of
+ * its schedule events, since that teardown could only fail half way.
+ */
+public class DeviceServiceTeardown {
+
+  private final DeviceServiceClient serviceClient;
+  private final DeviceClient deviceClient;
+  private final DeviceReportClient reportClient;
+  private final ScheduleEventClient eventClient;
+  private final ProvisionWatcherClient watcherClient;
+  private final AddressableClient addressableClient;
+  private final BatchExecutor batch;
+
+  public DeviceServiceTeardown(DeviceServiceClient serviceClient, DeviceClient deviceClient,
+      DeviceReportClient reportClient, ScheduleEventClient eventClient,
+      ProvisionWatcherClient watcherClient, AddressableClient addressableClient) {
+    this(serviceClient, deviceClient, reportClient, eventClient, watcherClient, addressableClient,
+        new BatchExecutor());
+  }
+
+  public DeviceServiceTeardown(DeviceServiceClient serviceClient, DeviceClient deviceClient,
+      DeviceReportClient reportClient, ScheduleEventClient eventClient,
+      ProvisionWatcherClient watcherClient, AddressableClient addressableClient,
+      BatchExecutor batch) {
+    this.serviceClient = serviceClient;
+    this.deviceClient = deviceClient;
+    this.reportClient = reportClient;
+    this.eventClient = eventClient;
+    this.watcherClient = watcherClient;
+    this.addressableClient = addressableClient;
+    this.batch = batch;
+  }
+
+  /**
+   * @return the delete result of every object, keyed by its type and name; an addressable that is
+   *         still referred to elsewhere is kept and reported as false
+   */
+  public BatchResult<String, Boolean> teardown(String serviceName) {
+    DeviceService service = serviceClient.deviceServiceForName(serviceName);
+    List<Device> devices = deviceClient.devicesForServiceByName(serviceName);
+    List<ScheduleEvent> events = eventClient.scheduleEventsForServiceByName(serviceName);
+    List<ProvisionWatcher> watchers = watcherClient.provisionWatcherForServiceByName(serviceName);
+
+    Map<String, Boolean> values = new LinkedHashMap<>();
+    Map<String, RuntimeException> errors = new LinkedHashMap<>();
+    checkForeignReports(devices, events, errors);
+    if (!errors.isEmpty()) {
+      return new BatchResult<>(values, errors);
+    }
+
+    Map<String, Supplier<Boolean>> dependents = new LinkedHashMap<>();
+    BatchResult<String, List<DeviceReport>> reports =
+        batch.apply(names(devices), this::deviceReports);
+    reports.getErrors().forEach((device, e) -> errors.put("device reports of " + device, e));
+    for (List<DeviceReport> deviceReports : reports.getValues().values()) {
+      for (DeviceReport report : deviceReports) {
+        dependents.put("device report " + report.getName(),
+            () -> reportClient.delete(report.getId()));
+      }
+    }
+    for (ProvisionWatcher watcher : watchers) {
+      dependents.put("provision watcher " + watcher.getName(),
+          () -> watcherClient.delete(watcher.getId()));
+    }
+    if (!runWave(dependents, values, errors)) {
+      return new BatchResult<>(values, errors);
+    }
+
+    Map<String, Supplier<Boolean>> deviceDeletes = new LinkedHashMap<>();
+    for (Device device : devices) {
+      deviceDeletes.put("device " + device.getName(), () -> deviceClient.delete(device.getId()));
+    }
+    for (ScheduleEvent event : events) {
+      deviceDeletes.put("schedule event " + event.getName(),
+          () -> eventClient.delete(event.getId()));
+    }
+    if (!runWave(deviceDeletes, values, errors)) {
+      return new BatchResult<>(values, errors);
+    }
+
+    if (!runWave(Collections.singletonMap("device service " + service.getName(),
+        () -> serviceClient.delete(service.getId())), values, errors)) {
+      return new BatchResult<>(values, errors);
+    }
+
+    Map<String, Addressable> addressables = new LinkedHashMap<>();
+    addAddressable(addressables, service.getAddressable());
+    devices.forEach(device -> addAddressable(addressables, device.getAddressable()));
+    events.forEach(event -> addAddressable(addressables, event.getAddressable()));
+    Map<String, Supplier<Boolean>> addressableDeletes = new LinkedHashMap<>();
+    for (Addressable addressable : addressables.values()) {
+      addressableDeletes.put("addressable " + addressable.getName(),
+          () -> !isReferenced(addressable) && addressableClient.delete(addressable.getId()));
+    }
+    runWave(addressableDeletes, values, errors);
+    return new BatchResult<>(values, errors);
+  }
+
+  private boolean runWave(Map<String, Supplier<Boolean>> deletes, Map<String, Boolean> values,
+      Map<String, RuntimeException> errors) {
+    BatchResult<String, Boolean> result =
+        batch.apply(deletes.keySet(), key -> deletes.get(key).get());
+    values.putAll(result.getValues());
+    errors.putAll(result.getErrors());
+    return errors.isEmpty();
+  }
+
+  // device reports of devices that stay behind would keep the schedule events from being deleted
+  private void checkForeignReports(List<Device> devices, List<ScheduleEvent> events,
+      Map<String, RuntimeException> errors) {
+    if (events.isEmpty()) {
+      return;
+    }
+    Set<String> deviceNames = new HashSet<>(names(devices));
+    Set<String> eventNames = new HashSet<>();
+    events.forEach(event -> eventNames.add(event.getName()));
+    List<DeviceReport> reports;
+    try {
+      reports = reportClient.deviceReports();
+    } catch (NotFoundException e) {
+      return;
+    }
+    for (DeviceReport report : reports) {
+      if (eventNames.contains(report.getEvent()) && !deviceNames.contains(report.getDevice())) {
+        errors.put("schedule event " + report.getEvent(),
+            new DataValidationException("schedule event " + report.getEvent()
+                + " is still used by device report " + report.getName() + " of device "
+                + report.getDevice() + ", which does not belong to this device service"));
+      }
+    }
+  }
+
+  private List<DeviceReport> deviceReports(String deviceName) {
+    try {
+      return reportClient.deviceReportsForDevice(deviceName);
+    } catch (NotFoundException e) {
+      return Collections.emptyList();
+    }
+  }
+
+  private boolean isReferenced(Addressable addressable) {
+    return !deviceClient.devicesForAddressable(addressable.getId()).isEmpty()
+        || !serviceClient.deviceServicesForAddressable(addressable.getId()).isEmpty()
+        || !eventClient.scheduleEventsForAddressable(addressable.getId()).isEmpty();
+  }
+
+  private static void addAddressable(Map<String, Addressable> addressables,
+      Addressable addressable) {
+    if (addressable != null && addressable.getId() != null) {
+      addressables.putIfAbsent(addressable.getId(), addressable);
+    }
+  }
+
+  private static List<String> names(List<Device> devices) {
+    List<String> names = new ArrayList<>();
+    devices.forEach(device -> names.add(device.getName()));
+    return names;
+  }
+
+}
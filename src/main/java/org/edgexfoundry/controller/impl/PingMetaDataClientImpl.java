@@ -24,9 +24,6 @@ import java.net.URL;
 import org.edgexfoundry.controller.PingMetaDataClient;
 import org.edgexfoundry.exception.controller.DataValidationException;
 import org.edgexfoundry.meta.client.ConsulDiscoveryClientTemplate;
-import org.jboss.resteasy.client.jaxrs.ResteasyClient;
-import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
-import org.jboss.resteasy.client.jaxrs.ResteasyWebTarget;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -43,17 +40,7 @@ public class PingMetaDataClientImpl extends ConsulDiscoveryClientTemplate
   }
 
   private PingMetaDataClient getClient() {
-    ResteasyClient client = new ResteasyClientBuilder().build();
-    ResteasyWebTarget target;
-
-    String rootUrl = super.getRootUrl();
-    if (rootUrl == null || rootUrl.isEmpty()) {
-      target = client.target(url);
-    } else {
-      target = client.target(rootUrl + super.getPath());
-    }
-
-    return target.proxy(PingMetaDataClient.class);
+    return super.getProxy(PingMetaDataClient.class, url);
   }
 
   @Override
@@ -26,9 +26,6 @@ import org.edgexfoundry.controller.ProvisionWatcherClient;
 import org.edgexfoundry.domain.meta.ProvisionWatcher;
 import org.edgexfoundry.exception.controller.DataValidationException;
 import org.edgexfoundry.meta.client.ConsulDiscoveryClientTemplate;
-import org.jboss.resteasy.client.jaxrs.ResteasyClient;
-import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
-import org.jboss.resteasy.client.jaxrs.ResteasyWebTarget;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -41,42 +38,48 @@ public class ProvisionWatcherClientImpl extends ConsulDiscoveryClientTemplate
 
   @Override
   public ProvisionWatcher provisionWatcher(String id) {
-    return getClient().provisionWatcher(id);
+    return coalesce(() -> getClient().provisionWatcher(id), "provisionWatcher", id);
   }
 
   @Override
   public List<ProvisionWatcher> provisionWatchers() {
-    return getClient().provisionWatchers();
+    return coalesce(() -> getClient().provisionWatchers(), "provisionWatchers");
   }
 
   @Override
   public ProvisionWatcher provisionWatcherForName(String name) {
-    return getClient().provisionWatcherForName(name);
+    return coalesce(() -> getClient().provisionWatcherForName(name),
+        "provisionWatcherForName", name);
   }
 
   @Override
   public List<ProvisionWatcher> provisionWatcherForProfile(String profileId) {
-    return getClient().provisionWatcherForProfile(profileId);
+    return coalesce(() -> getClient().provisionWatcherForProfile(profileId),
+        "provisionWatcherForProfile", profileId);
   }
 
   @Override
   public List<ProvisionWatcher> provisionWatcherForProfileByName(String profilename) {
-    return getClient().provisionWatcherForProfileByName(profilename);
+    return coalesce(() -> getClient().provisionWatcherForProfileByName(profilename),
+        "provisionWatcherForProfileByName", profilename);
   }
 
   @Override
   public List<ProvisionWatcher> provisionWatcherForService(String serviceId) {
-    return getClient().provisionWatcherForService(serviceId);
+    return coalesce(() -> getClient().provisionWatcherForService(serviceId),
+        "provisionWatcherForService", serviceId);
   }
 
   @Override
   public List<ProvisionWatcher> provisionWatcherForServiceByName(String servicename) {
-    return getClient().provisionWatcherForServiceByName(servicename);
+    return coalesce(() -> getClient().provisionWatcherForServiceByName(servicename),
+        "provisionWatcherForServiceByName", servicename);
   }
 
   @Override
   public List<ProvisionWatcher> watchersForIdentifier(String key, String value) {
-    return getClient().watchersForIdentifier(key, value);
+    return coalesce(() -> getClient().watchersForIdentifier(key, value),
+        "watchersForIdentifier", key, value);
   }
 
   @Override
@@ -100,17 +103,7 @@ public class ProvisionWatcherClientImpl extends ConsulDiscoveryClientTemplate
   }
 
   private ProvisionWatcherClient getClient() {
-    ResteasyClient client = new ResteasyClientBuilder().build();
-    ResteasyWebTarget target;
-
-    String rootUrl = super.getRootUrl();
-    if (rootUrl == null || rootUrl.isEmpty()) {
-      target = client.target(url);
-    } else {
-      target = client.target(rootUrl + super.getPath());
-    }
-
-    return target.proxy(ProvisionWatcherClient.class);
+    return super.getProxy(ProvisionWatcherClient.class, url);
   }
 
   @Override
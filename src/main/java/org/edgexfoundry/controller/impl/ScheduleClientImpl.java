@@ -26,9 +26,6 @@ import org.edgexfoundry.controller.ScheduleClient;
 import org.edgexfoundry.domain.meta.Schedule;
 import org.edgexfoundry.exception.controller.DataValidationException;
 import org.edgexfoundry.meta.client.ConsulDiscoveryClientTemplate;
-import org.jboss.resteasy.client.jaxrs.ResteasyClient;
-import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
-import org.jboss.resteasy.client.jaxrs.ResteasyWebTarget;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -40,17 +37,17 @@ public class ScheduleClientImpl extends ConsulDiscoveryClientTemplate implements
 
   @Override
   public Schedule schedule(String id) {
-    return getClient().schedule(id);
+    return coalesce(() -> getClient().schedule(id), "schedule", id);
   }
 
   @Override
   public List<Schedule> schedules() {
-    return getClient().schedules();
+    return coalesce(() -> getClient().schedules(), "schedules");
   }
 
   @Override
   public Schedule scheduleForName(String name) {
-    return getClient().scheduleForName(name);
+    return coalesce(() -> getClient().scheduleForName(name), "scheduleForName", name);
   }
 
   @Override
@@ -74,17 +71,7 @@ public class ScheduleClientImpl extends ConsulDiscoveryClientTemplate implements
   }
 
   private ScheduleClient getClient() {
-    ResteasyClient client = new ResteasyClientBuilder().build();
-    ResteasyWebTarget target;
-
-    String rootUrl = super.getRootUrl();
-    if (rootUrl == null || rootUrl.isEmpty()) {
-      target = client.target(url);
-    } else {
-      target = client.target(rootUrl + super.getPath());
-    }
-
-    return target.proxy(ScheduleClient.class);
+    return super.getProxy(ScheduleClient.class, url);
   }
 
   @Override
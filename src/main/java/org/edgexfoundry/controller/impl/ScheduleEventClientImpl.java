@@ -26,9 +26,6 @@ import org.edgexfoundry.controller.ScheduleEventClient;
 import org.edgexfoundry.domain.meta.ScheduleEvent;
 import org.edgexfoundry.exception.controller.DataValidationException;
 import org.edgexfoundry.meta.client.ConsulDiscoveryClientTemplate;
-import org.jboss.resteasy.client.jaxrs.ResteasyClient;
-import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
-import org.jboss.resteasy.client.jaxrs.ResteasyWebTarget;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -41,32 +38,35 @@ public class ScheduleEventClientImpl extends ConsulDiscoveryClientTemplate
 
   @Override
   public ScheduleEvent scheduleEvent(String id) {
-    return getClient().scheduleEvent(id);
+    return coalesce(() -> getClient().scheduleEvent(id), "scheduleEvent", id);
   }
 
   @Override
   public List<ScheduleEvent> scheduleEvents() {
-    return getClient().scheduleEvents();
+    return coalesce(() -> getClient().scheduleEvents(), "scheduleEvents");
   }
 
   @Override
   public List<ScheduleEvent> scheduleEventsForAddressable(String addressableId) {
-    return getClient().scheduleEventsForAddressable(addressableId);
+    return coalesce(() -> getClient().scheduleEventsForAddressable(addressableId),
+        "scheduleEventsForAddressable", addressableId);
   }
 
   @Override
   public List<ScheduleEvent> scheduleEventsForAddressableByName(String addressablename) {
-    return getClient().scheduleEventsForAddressableByName(addressablename);
+    return coalesce(() -> getClient().scheduleEventsForAddressableByName(addressablename),
+        "scheduleEventsForAddressableByName", addressablename);
   }
 
   @Override
   public List<ScheduleEvent> scheduleEventsForServiceByName(String servicename) {
-    return getClient().scheduleEventsForServiceByName(servicename);
+    return coalesce(() -> getClient().scheduleEventsForServiceByName(servicename),
+        "scheduleEventsForServiceByName", servicename);
   }
 
   @Override
   public ScheduleEvent scheduleEventForName(String name) {
-    return getClient().scheduleEventForName(name);
+    return coalesce(() -> getClient().scheduleEventForName(name), "scheduleEventForName", name);
   }
 
   @Override
@@ -90,17 +90,7 @@ public class ScheduleEventClientImpl extends ConsulDiscoveryClientTemplate
   }
 
   private ScheduleEventClient getClient() {
-    ResteasyClient client = new ResteasyClientBuilder().build();
-    ResteasyWebTarget target;
-
-    String rootUrl = super.getRootUrl();
-    if (rootUrl == null || rootUrl.isEmpty()) {
-      target = client.target(url);
-    } else {
-      target = client.target(rootUrl + super.getPath());
-    }
-
-    return target.proxy(ScheduleEventClient.class);
+    return super.getProxy(ScheduleEventClient.class, url);
   }
 
   @Override
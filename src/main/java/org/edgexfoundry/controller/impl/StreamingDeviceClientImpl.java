@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.impl;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.stream.Stream;
+
+import org.edgexfoundry.controller.DeviceClient;
+import org.edgexfoundry.controller.StreamingDeviceClient;
+import org.edgexfoundry.domain.meta.Device;
+import org.edgexfoundry.exception.controller.DataValidationException;
+import org.edgexfoundry.meta.client.ConsulDiscoveryClientTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class StreamingDeviceClientImpl extends ConsulDiscoveryClientTemplate
+    implements StreamingDeviceClient {
+
+  @Value("${meta.db.device.url}")
+  private String url;
+
+  @Override
+  public Stream<Device> devices() {
+    return stream(Device.class, DeviceClient.class, url,
+        client -> client.devices());
+  }
+
+  @Override
+  public Stream<Device> devicesByLabel(String label) {
+    return stream(Device.class, DeviceClient.class, url,
+        client -> client.devicesByLabel(label));
+  }
+
+  @Override
+  public Stream<Device> devicesForService(String serviceId) {
+    return stream(Device.class, DeviceClient.class, url,
+        client -> client.devicesForService(serviceId));
+  }
+
+  @Override
+  public Stream<Device> devicesForServiceByName(String servicename) {
+    return stream(Device.class, DeviceClient.class, url,
+        client -> client.devicesForServiceByName(servicename));
+  }
+
+  @Override
+  public Stream<Device> devicesForProfile(String profileId) {
+    return stream(Device.class, DeviceClient.class, url,
+        client -> client.devicesForProfile(profileId));
+  }
+
+  @Override
+  public Stream<Device> devicesForProfileByName(String profilename) {
+    return stream(Device.class, DeviceClient.class, url,
+        client -> client.devicesForProfileByName(profilename));
+  }
+
+  @Override
+  public Stream<Device> devicesForAddressable(String addressableId) {
+    return stream(Device.class, DeviceClient.class, url,
+        client -> client.devicesForAddressable(addressableId));
+  }
+
+  @Override
+  public Stream<Device> devicesForAddressableByName(String addressablename) {
+    return stream(Device.class, DeviceClient.class, url,
+        client -> client.devicesForAddressableByName(addressablename));
+  }
+
+  @Override
+  protected String extractPath() {
+    String result = "";
+    try {
+      URL urlObject = new URL(url);
+      result = urlObject.getPath();
+    } catch (MalformedURLException e) {
+      throw new DataValidationException("the URL is malformed, meta.db.device.url: " + url);
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.impl;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.stream.Stream;
+
+import org.edgexfoundry.controller.DeviceProfileClient;
+import org.edgexfoundry.controller.StreamingDeviceProfileClient;
+import org.edgexfoundry.domain.meta.DeviceProfile;
+import org.edgexfoundry.exception.controller.DataValidationException;
+import org.edgexfoundry.meta.client.ConsulDiscoveryClientTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class StreamingDeviceProfileClientImpl extends ConsulDiscoveryClientTemplate
+    implements StreamingDeviceProfileClient {
+
+  @Value("${meta.db.deviceprofile.url}")
+  private String url;
+
+  @Override
+  public Stream<DeviceProfile> deviceProfiles() {
+    return stream(DeviceProfile.class, DeviceProfileClient.class, url,
+        client -> client.deviceProfiles());
+  }
+
+  @Override
+  public Stream<DeviceProfile> deviceProfilesByManufacturer(String manufacturer) {
+    return stream(DeviceProfile.class, DeviceProfileClient.class, url,
+        client -> client.deviceProfilesByManufacturer(manufacturer));
+  }
+
+  @Override
+  public Stream<DeviceProfile> deviceProfilesByModel(String model) {
+    return stream(DeviceProfile.class, DeviceProfileClient.class, url,
+        client -> client.deviceProfilesByModel(model));
+  }
+
+  @Override
+  public Stream<DeviceProfile> deviceProfilesByManufacturerOrModel(String manufacturer,
+      String model) {
+    return stream(DeviceProfile.class, DeviceProfileClient.class, url,
+        client -> client.deviceProfilesByManufacturerOrModel(manufacturer, model));
+  }
+
+  @Override
+  public Stream<DeviceProfile> deviceProfilesByLabel(String label) {
+    return stream(DeviceProfile.class, DeviceProfileClient.class, url,
+        client -> client.deviceProfilesByLabel(label));
+  }
+
+  @Override
+  protected String extractPath() {
+    String result = "";
+    try {
+      URL urlObject = new URL(url);
+      result = urlObject.getPath();
+    } catch (MalformedURLException e) {
+      throw new DataValidationException("the URL is malformed, meta.db.deviceprofile.url: " + url);
+    }
+    return result;
+  }
+
+}
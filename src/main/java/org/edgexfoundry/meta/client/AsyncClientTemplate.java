@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+
+/**
+ * Base of the asynchronous metadata clients. A call is written against the JAX-RS interface C,
+ * as in {@code supply(url, client -> client.device(id))}; the request it describes is sent on the
+ * non-blocking {@link NioHttpEngine} and the returned CompletableFuture is completed from the
+ * response callback, so no thread waits while a request is outstanding. Each client allows
+ * client.async.max-in-flight requests at a time; beyond that the returned future fails at once
+ * with a RejectedExecutionException instead of queueing without bound.
+ */
+public abstract class AsyncClientTemplate<C> extends ConsulDiscoveryClientTemplate {
+
+  public static final int DEFAULT_MAX_IN_FLIGHT = 256;
+
+  @Value("${client.async.max-in-flight:" + DEFAULT_MAX_IN_FLIGHT + "}")
+  private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+
+  private final Class<C> clientType;
+  private volatile Semaphore inFlight;
+
+  protected AsyncClientTemplate(Class<C> clientType) {
+    this.clientType = clientType;
+  }
+
+  /**
+   * Sends the request of the one call the function makes on the client, against the default
+   * URL when discovery yields no instance. The function only describes the call: the client it
+   * is given records the method and arguments and returns nothing useful.
+   */
+  protected <T> CompletableFuture<T> supply(String url, Function<C, T> call) {
+    CallRecorder recorder = CallRecorder.record(clientType, call);
+    Semaphore permits = getInFlight();
+    if (!permits.tryAcquire()) {
+      CompletableFuture<T> rejected = new CompletableFuture<>();
+      rejected.completeExceptionally(new RejectedExecutionException(
+          "More than " + maxInFlight + " asynchronous requests in flight"));
+      return rejected;
+    }
+    CompletableFuture<T> result;
+    try {
+      result = invokeAsync(clientType, url, recorder.getMethod(), recorder.getArgs());
+    } catch (RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+    result.whenComplete((value, error) -> permits.release());
+    return result;
+  }
+
+  private Semaphore getInFlight() {
+    Semaphore result = inFlight;
+    if (result == null) {
+      synchronized (this) {
+        result = inFlight;
+        if (result == null) {
+          result = new Semaphore(maxInFlight);
+          inFlight = result;
+        }
+      }
+    }
+    return result;
+  }
+
+}
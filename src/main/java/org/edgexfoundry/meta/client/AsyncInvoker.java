@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import java.lang.reflect.Method;
+
+import javax.ws.rs.Path;
+
+import org.jboss.resteasy.client.jaxrs.ProxyConfig;
+import org.jboss.resteasy.client.jaxrs.ResteasyWebTarget;
+import org.jboss.resteasy.client.jaxrs.internal.ClientInvocation;
+import org.jboss.resteasy.client.jaxrs.internal.ClientResponse;
+import org.jboss.resteasy.client.jaxrs.internal.proxy.ClientInvoker;
+import org.jboss.resteasy.client.jaxrs.internal.proxy.extractors.ClientContext;
+import org.jboss.resteasy.util.IsHttpMethod;
+
+/**
+ * Splits a JAX-RS proxy call in two, so the request can be sent without blocking: the request
+ * is built from the method's annotations and arguments, and the result is read from the
+ * response, exactly as the RESTEasy proxy of the interface would do. Requests therefore carry the
+ * same paths, encoding, headers and body, and error statuses raise the same exceptions.
+ */
+class AsyncInvoker extends ClientInvoker {
+
+  AsyncInvoker(ResteasyWebTarget target, Class<?> clientType, Method method) {
+    super(withTypePath(target, clientType), clientType, method,
+        new ProxyConfig(clientType.getClassLoader(), null, null));
+    setHttpMethod(IsHttpMethod.getHttpMethods(method).iterator().next());
+  }
+
+  ClientInvocation request(Object[] args) {
+    return createRequest(args);
+  }
+
+  Object result(ClientInvocation request, ClientResponse response) {
+    return extractor.extractEntity(new ClientContext(request, response, entityExtractorFactory));
+  }
+
+  // the proxy builder applies a @Path on the interface before the method's own
+  private static ResteasyWebTarget withTypePath(ResteasyWebTarget target, Class<?> clientType) {
+    Path path = clientType.getAnnotation(Path.class);
+    if (path == null || path.value().isEmpty() || "/".equals(path.value())) {
+      return target;
+    }
+    return target.path(path.value());
+  }
+
+}
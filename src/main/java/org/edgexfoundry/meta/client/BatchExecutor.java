@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.edgexfoundry.exception.controller.DataValidationException;
+
+/**
+ * Applies a client call to many keys in parallel, with at most a fixed number of calls in flight.
+ * Duplicate keys are called once. The calling thread works through the keys alongside the pool
+ * threads, so a batch always completes even when the pool is saturated.
+ */
+public class BatchExecutor {
+
+  private static final Log logger = LogFactory.getLog(BatchExecutor.class);
+
+  public static final int DEFAULT_CONCURRENCY = 8;
+
+  private final Executor executor;
+  private final int concurrency;
+
+  public BatchExecutor() {
+    this(BatchThreadPool.shared(), DEFAULT_CONCURRENCY);
+  }
+
+  public BatchExecutor(Executor executor, int concurrency) {
+    if (concurrency < 1) {
+      throw new DataValidationException("batch concurrency must be at least 1: " + concurrency);
+    }
+    this.executor = executor;
+    this.concurrency = concurrency;
+  }
+
+  public int getConcurrency() {
+    return concurrency;
+  }
+
+  public <K, T> BatchResult<K, T> apply(Collection<K> keys, Function<K, T> call) {
+    return apply(keys, call, null);
+  }
+
+  public <K, T> BatchResult<K, T> apply(Collection<K> keys, Function<K, T> call,
+      BatchListener<K> listener) {
+    List<K> unique = new ArrayList<>(new LinkedHashSet<>(keys));
+    int size = unique.size();
+    Object[] values = new Object[size];
+    RuntimeException[] errors = new RuntimeException[size];
+    AtomicInteger next = new AtomicInteger();
+    AtomicInteger completed = new AtomicInteger();
+    // counted per key rather than per worker, so helpers that never got a thread are not waited on
+    CountDownLatch done = new CountDownLatch(size);
+    Runnable worker = () -> {
+      for (int i = next.getAndIncrement(); i < size; i = next.getAndIncrement()) {
+        try {
+          try {
+            values[i] = call.apply(unique.get(i));
+          } catch (RuntimeException e) {
+            errors[i] = e;
+          }
+          report(listener, unique.get(i), errors[i] != null, completed.incrementAndGet(), size);
+        } finally {
+          done.countDown();
+        }
+      }
+    };
+    for (int i = 1; i < Math.min(concurrency, size); i++) {
+      try {
+        executor.execute(worker);
+      } catch (RejectedExecutionException e) {
+        break;
+      }
+    }
+    worker.run();
+    try {
+      done.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a batch to complete", e);
+    }
+    Map<K, T> results = new LinkedHashMap<>();
+    Map<K, RuntimeException> failures = new LinkedHashMap<>();
+    for (int i = 0; i < size; i++) {
+      if (errors[i] != null) {
+        failures.put(unique.get(i), errors[i]);
+      } else {
+        @SuppressWarnings("unchecked")
+        T value = (T) values[i];
+        results.put(unique.get(i), value);
+      }
+    }
+    return new BatchResult<>(results, failures);
+  }
+
+  private static <K> void report(BatchListener<K> listener, K key, boolean failed, int completed,
+      int total) {
+    if (listener == null) {
+      return;
+    }
+    try {
+      listener.completed(key, failed, completed, total);
+    } catch (RuntimeException e) {
+      logger.warn("Batch listener failed for " + key + ": " + e.getMessage());
+    }
+  }
+
+}
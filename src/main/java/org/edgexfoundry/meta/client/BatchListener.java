@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+/**
+ * Told about every key of a batch as soon as its call completes. Called from the threads working
+ * on the batch, so implementations must be thread-safe.
+ */
+@FunctionalInterface
+public interface BatchListener<K> {
+
+  /**
+   * @param completed number of keys completed so far, including this one
+   * @param total number of distinct keys in the batch
+   */
+  void completed(K key, boolean failed, int completed, int total);
+
+}
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Outcome of a batch call: the value for every key that succeeded and the exception for every key
+ * that failed, both in the order the keys were first given.
+ */
+public class BatchResult<K, T> {
+
+  private final Map<K, T> values;
+  private final Map<K, RuntimeException> errors;
+
+  public BatchResult(Map<K, T> values, Map<K, RuntimeException> errors) {
+    this.values = Collections.unmodifiableMap(values);
+    this.errors = Collections.unmodifiableMap(errors);
+  }
+
+  public Map<K, T> getValues() {
+    return values;
+  }
+
+  public Map<K, RuntimeException> getErrors() {
+    return errors;
+  }
+
+  public boolean hasErrors() {
+    return !errors.isEmpty();
+  }
+
+}
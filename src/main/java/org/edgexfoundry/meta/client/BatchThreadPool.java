@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded thread pool that the batch operations of a default {@link BatchExecutor} share to run
+ * their blocking calls next to the calling thread. Its queue is bounded too: once it is full,
+ * further work is rejected and left to the caller, which the BatchExecutor then does itself. Idle
+ * threads time out, so the pool costs nothing while no batch runs. Pass a BatchExecutor with an
+ * executor of your own to size the threads differently.
+ */
+final class BatchThreadPool {
+
+  static final int POOL_SIZE = 16;
+  // tasks waiting for a thread, per pool thread
+  private static final int QUEUED_PER_THREAD = 4;
+
+  private static final Executor SHARED = create();
+
+  private BatchThreadPool() {}
+
+  static Executor shared() {
+    return SHARED;
+  }
+
+  private static Executor create() {
+    AtomicInteger threads = new AtomicInteger();
+    ThreadPoolExecutor pool = new ThreadPoolExecutor(POOL_SIZE, POOL_SIZE, 60, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(POOL_SIZE * QUEUED_PER_THREAD), runnable -> {
+          Thread thread = new Thread(runnable,
+              ConsulDiscoveryClientTemplate.APP_ID + "-batch-" + threads.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+    pool.allowCoreThreadTimeOut(true);
+    return pool;
+  }
+
+}
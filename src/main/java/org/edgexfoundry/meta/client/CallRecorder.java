@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.function.Function;
+
+/**
+ * Records the one call a function makes on a JAX-RS client interface, so the request it
+ * describes can be sent some other way than through the RESTEasy proxy. The recording client
+ * returns nothing useful.
+ */
+final class CallRecorder implements InvocationHandler {
+
+  private Method method;
+  private Object[] args;
+
+  private CallRecorder() {}
+
+  static <C> CallRecorder record(Class<C> clientType, Function<C, ?> call) {
+    CallRecorder recorder = new CallRecorder();
+    call.apply(clientType.cast(Proxy.newProxyInstance(clientType.getClassLoader(),
+        new Class<?>[] {clientType}, recorder)));
+    if (recorder.method == null) {
+      throw new IllegalArgumentException("The call did not use the " + clientType.getSimpleName());
+    }
+    return recorder;
+  }
+
+  Method getMethod() {
+    return method;
+  }
+
+  Object[] getArgs() {
+    return args;
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) {
+    if (this.method != null) {
+      throw new IllegalStateException("Only one call can be made per request");
+    }
+    this.method = method;
+    this.args = args;
+    Class<?> type = method.getReturnType();
+    if (type == boolean.class) {
+      return false;
+    }
+    if (type == long.class) {
+      return 0L;
+    }
+    if (type == int.class) {
+      return 0;
+    }
+    return null;
+  }
+
+}
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call count, in-flight gauge, errors by exception type and latency distribution of one method or
+ * one metadata instance.
+ */
+public class CallStats {
+
+  private final LongAdder calls = new LongAdder();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final ConcurrentMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+  private final LatencyHistogram latency = new LatencyHistogram();
+
+  public void callStarted() {
+    inFlight.incrementAndGet();
+  }
+
+  /**
+   * @param error what the call threw, or null when it succeeded
+   */
+  public void callFinished(long nanos, Throwable error) {
+    inFlight.decrementAndGet();
+    calls.increment();
+    latency.record(nanos);
+    if (error != null) {
+      errors.computeIfAbsent(error.getClass().getName(), type -> new LongAdder()).increment();
+    }
+  }
+
+  public Snapshot getSnapshot() {
+    Map<String, Long> errorCounts = new TreeMap<>();
+    errors.forEach((type, count) -> errorCounts.put(type, count.sum()));
+    return new Snapshot(calls.sum(), inFlight.get(), errorCounts, latency.getSnapshot());
+  }
+
+  /**
+   * Point in time copy of the statistics.
+   */
+  public static class Snapshot {
+
+    private final long calls;
+    private final int inFlight;
+    private final Map<String, Long> errors;
+    private final LatencyHistogram.Snapshot latency;
+
+    Snapshot(long calls, int inFlight, Map<String, Long> errors,
+        LatencyHistogram.Snapshot latency) {
+      this.calls = calls;
+      this.inFlight = inFlight;
+      this.errors = Collections.unmodifiableMap(errors);
+      this.latency = latency;
+    }
+
+    public long getCalls() {
+      return calls;
+    }
+
+    public int getInFlight() {
+      return inFlight;
+    }
+
+    /**
+     * Returns the number of failed calls by exception class name.
+     */
+    public Map<String, Long> getErrors() {
+      return errors;
+    }
+
+    public long getErrorCount() {
+      return errors.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public LatencyHistogram.Snapshot getLatency() {
+      return latency;
+    }
+
+  }
+
+}
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-method call statistics of instrumented metadata clients, with a pull API for snapshots.
+ * Statistics per metadata instance are kept on each MetadataInstance and are reported here for
+ * the instances of the registry.
+ */
+public class ClientMetrics {
+
+  private final ConcurrentMap<String, CallStats> methods = new ConcurrentHashMap<>();
+  private final MetadataInstanceRegistry registry;
+
+  public ClientMetrics() {
+    this(null);
+  }
+
+  public ClientMetrics(MetadataInstanceRegistry registry) {
+    this.registry = registry;
+  }
+
+  /**
+   * Wraps a blocking client so that every call of an interface method is recorded under
+   * "Interface.method"; overloads of a method share their statistics.
+   */
+  public <T> T instrument(Class<T> clientType, T client) {
+    return clientType.cast(Proxy.newProxyInstance(clientType.getClassLoader(),
+        new Class<?>[] {clientType}, new InstrumentingHandler(client, clientType, this)));
+  }
+
+  public CallStats forMethod(String name) {
+    return methods.computeIfAbsent(name, key -> new CallStats());
+  }
+
+  public Map<String, CallStats.Snapshot> getMethodSnapshots() {
+    Map<String, CallStats.Snapshot> snapshots = new TreeMap<>();
+    methods.forEach((name, stats) -> snapshots.put(name, stats.getSnapshot()));
+    return snapshots;
+  }
+
+  /**
+   * Returns the statistics of every discovered metadata instance by root URL, or nothing when no
+   * registry was given.
+   */
+  public Map<String, CallStats.Snapshot> getInstanceSnapshots() {
+    Map<String, CallStats.Snapshot> snapshots = new TreeMap<>();
+    if (registry != null) {
+      for (MetadataInstance instance : registry.getInstances()) {
+        snapshots.put(instance.getRootUrl(), instance.getStats().getSnapshot());
+      }
+    }
+    return snapshots;
+  }
+
+}
@@ -18,71 +18,556 @@
 
 package org.edgexfoundry.meta.client;
 
-import java.net.URI;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.Providers;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.concurrent.FutureCallback;
+import org.jboss.resteasy.client.jaxrs.ResteasyClient;
+import org.jboss.resteasy.client.jaxrs.internal.ClientInvocation;
+import org.jboss.resteasy.client.jaxrs.internal.ClientResponse;
+import org.jboss.resteasy.spi.ResteasyProviderFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
 
 public abstract class ConsulDiscoveryClientTemplate {
 
   public static final String APP_ID = "core-metadata";
-  private static boolean isCacheDiscoveryResult = false;
+  public static final int DEFAULT_MAX_CONNECTIONS = 50;
+  public static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 20;
+  public static final long DEFAULT_CONNECTION_TTL = 60000;
 
-  @Value("${client.is-cache-discovery-result:false}")
-  public static void setIsCacheDiscoveryResult(boolean flag) {
-    isCacheDiscoveryResult = flag;
-  }
+  private static final Log logger = LogFactory.getLog(ConsulDiscoveryClientTemplate.class);
+
+  // stands in for the shared registry when a client is created outside of Spring; it has no
+  // discovery client, so such a client only ever talks to its configured url
+  private static final MetadataInstanceRegistry STANDALONE_REGISTRY =
+      new MetadataInstanceRegistry();
 
-  @Autowired
+  @Autowired(required = false)
+  private MetadataInstanceRegistry registry;
+
+  // used for a registry of this bean's own when the shared registry bean is not in the context
+  @Autowired(required = false)
   private DiscoveryClient discoveryClient;
 
-  private String rootUrl = "";
-  private String path = "";
+  @Autowired(required = false)
+  private AutowireCapableBeanFactory beanFactory;
+
+  @Value("${client.max-connections:" + DEFAULT_MAX_CONNECTIONS + "}")
+  private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+
+  @Value("${client.max-connections-per-route:" + DEFAULT_MAX_CONNECTIONS_PER_ROUTE + "}")
+  private int maxConnectionsPerRoute = DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+
+  // how long (ms) an idle pooled connection is kept alive for reuse
+  @Value("${client.connection-ttl:" + DEFAULT_CONNECTION_TTL + "}")
+  private long connectionTtl = DEFAULT_CONNECTION_TTL;
+
+  @Value("${client.http-engine:" + HttpEngines.POOLED + "}")
+  private String httpEngine = HttpEngines.POOLED;
+
+  // how long (ms) a request on the nio engine may take before it fails
+  @Value("${client.request-timeout:" + NioHttpEngine.DEFAULT_REQUEST_TIMEOUT + "}")
+  private long requestTimeout = NioHttpEngine.DEFAULT_REQUEST_TIMEOUT;
+
+  // when true, concurrent identical reads share one request and its result
+  @Value("${client.coalesce-reads:false}")
+  private boolean coalesceReads;
+
+  // when true, timestamp updates are queued and only the newest one per device is sent on flush
+  @Value("${client.write-behind.enabled:false}")
+  private boolean writeBehindEnabled;
+
+  @Value("${client.write-behind.flush-interval:" + TimestampWriteBehind.DEFAULT_FLUSH_INTERVAL
+      + "}")
+  private long writeBehindFlushInterval = TimestampWriteBehind.DEFAULT_FLUSH_INTERVAL;
+
+  @Value("${client.write-behind.max-concurrency:" + TimestampWriteBehind.DEFAULT_MAX_CONCURRENCY
+      + "}")
+  private int writeBehindMaxConcurrency = TimestampWriteBehind.DEFAULT_MAX_CONCURRENCY;
+
+  // last resolved root URL and path, replaced as a whole so readers never see a torn pair
+  private final AtomicReference<Endpoint> endpoint = new AtomicReference<>(new Endpoint("", ""));
+
+  private volatile ResteasyClient client;
+  // keyed by [url] for the configured url and [url, instance] for a discovered instance, so the
+  // tracking proxy of an instance is never handed out for the plain url or another instance
+  private final ConcurrentMap<List<Object>, Object> proxies = new ConcurrentHashMap<>();
+  // the nio client shared by the asynchronous calls of all beans, held while this bean uses it
+  private volatile ResteasyClient asyncClient;
+  private final ConcurrentMap<List<Object>, AsyncInvoker> invokers = new ConcurrentHashMap<>();
+  // client of the streaming reads, the client itself unless it runs on nio
+  private volatile ResteasyClient streamingClient;
+  private final ConcurrentMap<List<Object>, AsyncInvoker> streamInvokers =
+      new ConcurrentHashMap<>();
+  private final SingleFlight reads = new SingleFlight();
+  private TimestampWriteBehind writeBehind;
+  // set once closed, after which timestamp updates are sent right away
+  private boolean writeBehindClosed;
+  private volatile boolean standaloneWarned;
+  private volatile MetadataInstanceRegistry ownRegistry;
+  // discovery version the cached proxies and invokers were last checked against
+  private volatile long seenDiscoveryVersion;
+
+  protected MetadataInstanceRegistry getRegistry() {
+    if (registry != null) {
+      return registry;
+    }
+    if (discoveryClient != null) {
+      return getOwnRegistry();
+    }
+    if (!standaloneWarned) {
+      standaloneWarned = true;
+      logger.warn(getClass().getSimpleName() + " was created without a MetadataInstanceRegistry"
+          + " or DiscoveryClient bean: discovery of " + APP_ID + " is disabled and every call goes"
+          + " to the configured url. Include org.edgexfoundry.meta.client in the component scan"
+          + " to enable it.");
+    }
+    return STANDALONE_REGISTRY;
+  }
+
+  private MetadataInstanceRegistry getOwnRegistry() {
+    MetadataInstanceRegistry result = ownRegistry;
+    if (result == null) {
+      synchronized (this) {
+        result = ownRegistry;
+        if (result == null) {
+          if (beanFactory != null) {
+            // configured from the client.* properties like the shared bean would be
+            result = beanFactory.createBean(MetadataInstanceRegistry.class);
+          } else {
+            result = new MetadataInstanceRegistry(discoveryClient);
+            result.init();
+          }
+          logger.info(getClass().getSimpleName() + " found no MetadataInstanceRegistry bean and"
+              + " discovers " + APP_ID + " on its own. Include org.edgexfoundry.meta.client in"
+              + " the component scan to share one registry between all clients.");
+          ownRegistry = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  protected abstract String extractPath();
+
+  /**
+   * Returns the long-lived, pooled client used for every call made against this metadata
+   * endpoint. The client is created on first use and is safe to share between threads.
+   */
+  protected ResteasyClient getResteasyClient() {
+    ResteasyClient result = client;
+    if (result == null) {
+      synchronized (this) {
+        result = client;
+        if (result == null) {
+          result = HttpEngines.build(httpEngine, maxConnections, maxConnectionsPerRoute,
+              connectionTtl, requestTimeout);
+          client = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns a JAX-RS proxy for the metadata instance chosen for this request, or for the
+   * configured default URL when discovery yields nothing. Proxies are expensive to build, so one
+   * is cached per instance and reused for every later request to it, until discovery stops
+   * returning that instance.
+   */
+  protected <T> T getProxy(Class<T> clientType, String defaultUrl) {
+    MetadataInstanceRegistry instances = getRegistry();
+    MetadataInstance instance = instances.select();
+    evictVanishedInstances(instances);
+    if (instance == null) {
+      return clientType.cast(proxies.computeIfAbsent(Collections.singletonList(defaultUrl),
+          key -> createProxy(clientType, defaultUrl)));
+    }
+    Endpoint resolved = resolve(instance.getRootUrl());
+    String targetUrl = resolved.rootUrl + resolved.path;
+    return clientType.cast(proxies.computeIfAbsent(Arrays.asList(targetUrl, instance),
+        key -> Proxy.newProxyInstance(clientType.getClassLoader(), new Class<?>[] {clientType},
+            new InstanceTrackingHandler(createProxy(clientType, targetUrl), instance,
+                instances.getOutlierDetector()))));
+  }
 
-  @PostConstruct
-  private void initClient() {
-    rootUrl = retrieveUriFromDiscoveryClient();
-    path = extractPath();
+  // drops the proxies and invokers of instances the latest discovery no longer returns
+  private void evictVanishedInstances(MetadataInstanceRegistry instances) {
+    long version = instances.getDiscoveryVersion();
+    if (version == seenDiscoveryVersion) {
+      return;
+    }
+    seenDiscoveryVersion = version;
+    List<MetadataInstance> current = instances.getInstances();
+    String path = getPath();
+    Set<String> targetUrls = new HashSet<>();
+    for (MetadataInstance instance : current) {
+      targetUrls.add(instance.getRootUrl() + path);
+    }
+    proxies.keySet().removeIf(key -> key.size() > 1 && !current.contains(key.get(1)));
+    invokers.keySet().removeIf(key -> !targetUrls.contains(key.get(0)));
+    streamInvokers.keySet().removeIf(key -> !targetUrls.contains(key.get(0)));
   }
 
-  private String retrieveUriFromDiscoveryClient() {
-    String result = "";
-    if (discoveryClient == null) {
+  /**
+   * Sends the request of a call to the JAX-RS method of clientType without blocking, to the
+   * metadata instance chosen for this request or to the configured default URL when discovery
+   * yields nothing. The request and the result are those of the proxy returned by
+   * {@link #getProxy}, including the exceptions raised for error statuses, and the call is
+   * accounted against the instance the same way. The request goes out on the one
+   * {@link NioHttpEngine} that the asynchronous calls of all beans share, and the future completes
+   * on one of its I/O threads; stages added to it without an executor run on that thread too and
+   * must not block.
+   */
+  protected <T> CompletableFuture<T> invokeAsync(Class<?> clientType, String defaultUrl,
+      Method method, Object[] args) {
+    MetadataInstanceRegistry instances = getRegistry();
+    MetadataInstance instance = instances.select();
+    evictVanishedInstances(instances);
+    String targetUrl = defaultUrl;
+    if (instance != null) {
+      Endpoint resolved = resolve(instance.getRootUrl());
+      targetUrl = resolved.rootUrl + resolved.path;
+    }
+    CompletableFuture<T> result = new CompletableFuture<>();
+    ClientInvocation request;
+    AsyncInvoker invoker;
+    try {
+      invoker = invokers.computeIfAbsent(Arrays.asList(targetUrl, method),
+          key -> new AsyncInvoker(getAsyncClient().target((String) key.get(0)), clientType,
+              method));
+      request = invoker.request(args);
+    } catch (RuntimeException e) {
+      result.completeExceptionally(e);
       return result;
     }
+    long start = instance != null ? InstanceTrackingHandler.callStarted(instance) : 0;
+    FutureCallback<ClientResponse> callback = new FutureCallback<ClientResponse>() {
+      @Override
+      public void completed(ClientResponse response) {
+        Object value;
+        try {
+          value = withProviders(request, () -> invoker.result(request, response));
+        } catch (RuntimeException e) {
+          failed(e);
+          return;
+        }
+        finished(null);
+        @SuppressWarnings("unchecked")
+        T typed = (T) value;
+        result.complete(typed);
+      }
+
+      @Override
+      public void failed(Exception e) {
+        RuntimeException error = e instanceof RuntimeException ? (RuntimeException) e
+            : new ProcessingException("Unable to invoke request", e);
+        finished(error);
+        result.completeExceptionally(error);
+      }
+
+      @Override
+      public void cancelled() {
+        failed(new ProcessingException("Request to " + request.getUri() + " was cancelled"));
+      }
 
-    List<ServiceInstance> list = discoveryClient.getInstances(APP_ID);
-    if (list != null && !(list.isEmpty())) {
-      URI uri = list.get(0).getUri();
-      if (uri != null) {
-        result = uri.toString();
+      private void finished(Throwable error) {
+        if (instance != null) {
+          InstanceTrackingHandler.callFinished(instance, instances.getOutlierDetector(), start,
+              error);
+        }
       }
+    };
+    try {
+      withProviders(request,
+          () -> ((NioHttpEngine) getAsyncClient().httpEngine()).submit(request, callback));
+    } catch (RuntimeException e) {
+      callback.failed(e);
     }
     return result;
   }
 
-  protected abstract String extractPath();
+  // the entity providers look up their context resolvers through the thread's providers, which
+  // RESTEasy only sets up for the duration of a synchronous invocation
+  private static <T> T withProviders(ClientInvocation request, Supplier<T> call) {
+    Providers current = ResteasyProviderFactory.getContextData(Providers.class);
+    ResteasyProviderFactory.pushContext(Providers.class, request.getClientConfiguration());
+    try {
+      return call.get();
+    } finally {
+      ResteasyProviderFactory.popContextData(Providers.class);
+      if (current != null) {
+        ResteasyProviderFactory.pushContext(Providers.class, current);
+      }
+    }
+  }
 
-  public String getRootUrl() {
-    if (rootUrl == null || rootUrl.isEmpty() || !isCacheDiscoveryResult) {
-      String retrievedUri = retrieveUriFromDiscoveryClient();
-      if (retrievedUri != null && !retrievedUri.isEmpty()) {
-        rootUrl = retrievedUri;
+  private ResteasyClient getAsyncClient() {
+    ResteasyClient result = asyncClient;
+    if (result == null) {
+      synchronized (this) {
+        result = asyncClient;
+        if (result == null) {
+          result = SharedAsyncClient.acquire(maxConnections, maxConnectionsPerRoute,
+              requestTimeout);
+          asyncClient = result;
+        }
+      }
+    }
+    return result;
+  }
+
+
+  /**
+   * Sends the request of the one call the function makes on clientType, a JAX-RS interface whose
+   * method returns a JSON array, to the metadata instance chosen for this request or to the
+   * configured default URL when discovery yields nothing. The request is built the way the proxy
+   * of clientType builds it, so paths and their encoding are the same. The array elements are
+   * returned as they are parsed from the response: only the element being handed over is held in
+   * memory, and the caller works on it while the rest is still arriving. The call is accounted
+   * against the instance as in flight until the stream is read to the end or closed, with the
+   * time to the response as its latency. The stream holds its connection for as long, so it
+   * belongs in a try-with-resources block. Streams always go through a pooled client, as the nio
+   * engine reads each response fully before handing it over.
+   */
+  protected <T, C> Stream<T> stream(Class<T> type, Class<C> clientType, String defaultUrl,
+      Function<C, ?> call) {
+    CallRecorder recorded = CallRecorder.record(clientType, call);
+    MetadataInstanceRegistry instances = getRegistry();
+    MetadataInstance instance = instances.select();
+    evictVanishedInstances(instances);
+    String targetUrl = defaultUrl;
+    if (instance != null) {
+      Endpoint resolved = resolve(instance.getRootUrl());
+      targetUrl = resolved.rootUrl + resolved.path;
+    }
+    AsyncInvoker invoker = streamInvokers.computeIfAbsent(
+        Arrays.asList(targetUrl, recorded.getMethod()),
+        key -> new AsyncInvoker(getStreamingClient().target((String) key.get(0)), clientType,
+            recorded.getMethod()));
+    ClientInvocation request = invoker.request(recorded.getArgs());
+    long start = instance != null ? InstanceTrackingHandler.callStarted(instance) : 0;
+    Response response = null;
+    try {
+      response = request.invoke();
+      long arrived = System.nanoTime();
+      if (response.getStatusInfo().getFamily() != Response.Status.Family.SUCCESSFUL) {
+        // throws the same WebApplicationException subclass the proxies throw
+        ClientInvocation.handleErrorStatus(response);
+      }
+      MappingIterator<T> elements = ObjectMapperResolver.mapper().readerFor(type)
+          .readValues(response.readEntity(InputStream.class));
+      AtomicBoolean finished = new AtomicBoolean();
+      Runnable finish = () -> {
+        if (instance != null && finished.compareAndSet(false, true)) {
+          InstanceTrackingHandler.callFinished(instance, instances.getOutlierDetector(), start,
+              arrived, null);
+        }
+      };
+      Response held = response;
+      Iterator<T> tracked = new Iterator<T>() {
+        @Override
+        public boolean hasNext() {
+          boolean more = elements.hasNext();
+          if (!more) {
+            finish.run();
+          }
+          return more;
+        }
+
+        @Override
+        public T next() {
+          return elements.next();
+        }
+      };
+      return StreamSupport
+          .stream(Spliterators.spliteratorUnknownSize(tracked,
+              Spliterator.ORDERED | Spliterator.NONNULL), false)
+          .onClose(() -> {
+            held.close();
+            finish.run();
+          });
+    } catch (IOException | RuntimeException e) {
+      if (response != null) {
+        response.close();
+      }
+      RuntimeException error =
+          e instanceof RuntimeException ? (RuntimeException) e : new ProcessingException(e);
+      if (instance != null) {
+        InstanceTrackingHandler.callFinished(instance, instances.getOutlierDetector(), start,
+            error);
+      }
+      throw error;
+    }
+  }
+
+  // streams read the response as it arrives, which the nio engine does not support
+  private ResteasyClient getStreamingClient() {
+    if (!HttpEngines.NIO.equals(httpEngine)) {
+      return getResteasyClient();
+    }
+    ResteasyClient result = streamingClient;
+    if (result == null) {
+      synchronized (this) {
+        result = streamingClient;
+        if (result == null) {
+          result = HttpEngines.build(HttpEngines.POOLED, maxConnections, maxConnectionsPerRoute,
+              connectionTtl, requestTimeout);
+          streamingClient = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Runs a read call. With client.coalesce-reads enabled, concurrent calls with the same method
+   * name and arguments are coalesced into one request whose result every caller receives, so the
+   * returned objects are then shared between those callers.
+   */
+  protected <T> T coalesce(Supplier<T> call, Object... key) {
+    if (!coalesceReads) {
+      return call.get();
+    }
+    return reads.execute(Arrays.asList(key), call);
+  }
+
+  /**
+   * Sends a timestamp update. With client.write-behind.enabled the update is queued instead and
+   * true is returned right away; only the newest timestamp per key is sent on the next flush,
+   * with a notification when any of the queued updates for the key asked for one. Once the client
+   * is closed updates are sent right away, as nothing would flush them any more.
+   */
+  protected boolean writeBehind(LongPredicate update, long time, boolean notify, Object... key) {
+    TimestampWriteBehind queue = writeBehindEnabled ? getWriteBehind() : null;
+    if (queue == null) {
+      return update.test(time);
+    }
+    return queue.submit(Arrays.asList(key), time, notify, update);
+  }
+
+  // null once the client is closed
+  private synchronized TimestampWriteBehind getWriteBehind() {
+    if (writeBehind == null && !writeBehindClosed) {
+      writeBehind = new TimestampWriteBehind(writeBehindFlushInterval, writeBehindMaxConcurrency);
+    }
+    return writeBehind;
+  }
+
+  private <T> T createProxy(Class<T> clientType, String targetUrl) {
+    return getResteasyClient().target(targetUrl).proxy(clientType);
+  }
+
+  @PreDestroy
+  private void closeClient() {
+    TimestampWriteBehind queuedWrites;
+    synchronized (this) {
+      queuedWrites = writeBehind;
+      writeBehind = null;
+      writeBehindClosed = true;
+    }
+    // flush outside the lock, the queued updates still need the client
+    if (queuedWrites != null) {
+      queuedWrites.close();
+    }
+    synchronized (this) {
+      proxies.clear();
+      invokers.clear();
+      streamInvokers.clear();
+      if (streamingClient != null) {
+        streamingClient.close();
+        streamingClient = null;
+      }
+      if (asyncClient != null) {
+        SharedAsyncClient.release();
+        asyncClient = null;
+      }
+      if (client != null) {
+        client.close();
+        client = null;
+      }
+      if (ownRegistry != null) {
+        if (beanFactory != null) {
+          beanFactory.destroyBean(ownRegistry);
+        } else {
+          ownRegistry.shutdown();
+        }
+        ownRegistry = null;
       }
     }
-    return rootUrl;
+  }
+
+  /**
+   * Returns the root URL of the metadata instance requests would currently go to first, without
+   * moving the instance selection on, or the last resolved one when discovery has found nothing.
+   */
+  public String getRootUrl() {
+    MetadataInstance instance = getRegistry().peek();
+    if (instance == null) {
+      return getEndpoint().rootUrl;
+    }
+    return instance.getRootUrl();
   }
 
   public String getPath() {
-    if (path == null || path.isEmpty()) {
-      path = extractPath();
+    return resolve(getEndpoint().rootUrl).path;
+  }
+
+  Endpoint getEndpoint() {
+    return endpoint.get();
+  }
+
+  private Endpoint resolve(String rootUrl) {
+    Endpoint current = endpoint.get();
+    if (current.rootUrl.equals(rootUrl) && !current.path.isEmpty()) {
+      return current;
+    }
+    String path = current.path.isEmpty() ? extractPath() : current.path;
+    Endpoint updated = new Endpoint(rootUrl, path == null ? "" : path);
+    endpoint.compareAndSet(current, updated);
+    return updated;
+  }
+
+  static final class Endpoint {
+    final String rootUrl;
+    final String path;
+
+    private Endpoint(String rootUrl, String path) {
+      this.rootUrl = rootUrl;
+      this.path = path;
     }
-    return path;
   }
 
 }
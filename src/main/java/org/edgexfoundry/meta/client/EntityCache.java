@@ -0,0 +1,335 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.ws.rs.NotFoundException;
+
+/**
+ * Bounded, expiring cache of metadata objects indexed by both id and name, so an object fetched
+ * by id is also served by name and the other way round. Least recently used entries are evicted
+ * once the cache is full. Names the server reported as not found can be remembered for a shorter
+ * time so repeated probes for a missing name are answered locally. All methods are thread-safe.
+ *
+ * <p>
+ * Lookups run outside the lock, so an invalidation can land while one is in flight. Every
+ * invalidation is numbered and the number is recorded against the id and name it touched, in
+ * one of a fixed set of slots picked by hash. A lookup notes the current number before it
+ * starts; its result is then neither cached nor remembered as missing if its id or name was
+ * invalidated meanwhile, as it may predate the write that caused the invalidation.
+ */
+public class EntityCache<T> {
+
+  public static final int DEFAULT_MAX_SIZE = 10000;
+  public static final long DEFAULT_TTL = 60000;
+  public static final long DEFAULT_NEGATIVE_TTL = 5000;
+
+  // slots for the invalidation numbers; keys sharing a slot only cost an occasional skipped put
+  private static final int INVALIDATION_SLOTS = 256;
+
+  private final Function<T, String> idOf;
+  private final Function<T, String> nameOf;
+  private final int maxSize;
+  private final long ttlNanos;
+  private final long negativeTtlNanos;
+
+  private final LinkedHashMap<String, Entry<T>> byId;
+  private final Map<String, String> idsByName = new HashMap<>();
+  private final LinkedHashMap<String, Long> missingNames;
+  private final long[] invalidatedAt = new long[INVALIDATION_SLOTS];
+  private long invalidations;
+
+  public EntityCache(Function<T, String> idOf, Function<T, String> nameOf) {
+    this(idOf, nameOf, DEFAULT_MAX_SIZE, DEFAULT_TTL);
+  }
+
+  /**
+   * @param maxSize maximum number of cached objects
+   * @param ttl milliseconds an object is served from the cache after it was fetched
+   */
+  public EntityCache(Function<T, String> idOf, Function<T, String> nameOf, int maxSize,
+      long ttl) {
+    this(idOf, nameOf, maxSize, ttl, DEFAULT_NEGATIVE_TTL);
+  }
+
+  /**
+   * @param negativeTtl milliseconds a name reported as not found is answered from the cache; 0
+   *        disables negative caching
+   */
+  public EntityCache(Function<T, String> idOf, Function<T, String> nameOf, int maxSize, long ttl,
+      long negativeTtl) {
+    this.idOf = idOf;
+    this.nameOf = nameOf;
+    this.maxSize = maxSize;
+    this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttl);
+    this.negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(negativeTtl);
+    this.missingNames = new LinkedHashMap<String, Long>(16, 0.75f, false) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+        return size() > EntityCache.this.maxSize;
+      }
+    };
+    this.byId = new LinkedHashMap<String, Entry<T>>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry<T>> eldest) {
+        if (size() > EntityCache.this.maxSize) {
+          removeName(eldest.getValue());
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Returns the cached object with the id, or fetches it with the lookup and caches it.
+   */
+  public T getById(String id, Function<String, T> lookup) {
+    long since;
+    synchronized (this) {
+      T value = getById(id);
+      if (value != null) {
+        return value;
+      }
+      since = invalidations;
+    }
+    T value = lookup.apply(id);
+    putUnlessInvalidated(value, id, since);
+    return value;
+  }
+
+  /**
+   * Returns the cached object with the name, or fetches it with the lookup and caches it. When
+   * the lookup throws NotFoundException the name is remembered as missing and later calls throw
+   * NotFoundException without calling the lookup until the negative TTL passes.
+   */
+  public T getByName(String name, Function<String, T> lookup) {
+    long since;
+    synchronized (this) {
+      T value = getByName(name);
+      if (value != null) {
+        return value;
+      }
+      if (isMissingName(name)) {
+        throw new NotFoundException("No object with name " + name + " (cached not found)");
+      }
+      since = invalidations;
+    }
+    T value;
+    try {
+      value = lookup.apply(name);
+    } catch (NotFoundException e) {
+      markMissingName(name, since);
+      throw e;
+    }
+    putUnlessInvalidated(value, name, since);
+    return value;
+  }
+
+  public synchronized T getById(String id) {
+    if (id == null) {
+      return null;
+    }
+    return live(id, byId.get(id));
+  }
+
+  public synchronized T getByName(String name) {
+    if (name == null) {
+      return null;
+    }
+    String id = idsByName.get(name);
+    return id == null ? null : live(id, byId.get(id));
+  }
+
+  public synchronized void put(T value) {
+    String id = value == null ? null : idOf.apply(value);
+    if (id == null) {
+      return;
+    }
+    String name = nameOf.apply(value);
+    Entry<T> previous = byId.put(id, new Entry<>(value, id, name, System.nanoTime() + ttlNanos));
+    if (previous != null) {
+      removeName(previous);
+    }
+    if (name != null) {
+      idsByName.put(name, id);
+      missingNames.remove(name);
+    }
+  }
+
+  // caches a looked up value unless the key it was looked up by, its id or its name were
+  // invalidated after the lookup started
+  private synchronized void putUnlessInvalidated(T value, String key, long since) {
+    if (value == null || invalidatedSince(key, since) || invalidatedSince(idOf.apply(value), since)
+        || invalidatedSince(nameOf.apply(value), since)) {
+      return;
+    }
+    put(value);
+  }
+
+  // a miss reported after the name was invalidated, for instance by an add, may predate the add
+  private synchronized void markMissingName(String name, long since) {
+    if (!invalidatedSince(name, since)) {
+      markMissingName(name);
+    }
+  }
+
+  public synchronized void markMissingName(String name) {
+    if (name != null && negativeTtlNanos > 0) {
+      missingNames.remove(name);
+      missingNames.put(name, System.nanoTime() + negativeTtlNanos);
+    }
+  }
+
+  public synchronized boolean isMissingName(String name) {
+    Long expiresAt = name == null ? null : missingNames.get(name);
+    if (expiresAt == null) {
+      return false;
+    }
+    if (System.nanoTime() - expiresAt >= 0) {
+      missingNames.remove(name);
+      return false;
+    }
+    return true;
+  }
+
+  public synchronized void invalidateId(String id) {
+    if (id == null) {
+      return;
+    }
+    recordInvalidation(id);
+    Entry<T> removed = byId.remove(id);
+    if (removed != null) {
+      recordInvalidation(removed.name);
+      removeName(removed);
+    }
+  }
+
+  public synchronized void invalidateName(String name) {
+    if (name == null) {
+      return;
+    }
+    recordInvalidation(name);
+    missingNames.remove(name);
+    String id = idsByName.remove(name);
+    if (id != null) {
+      recordInvalidation(id);
+      byId.remove(id);
+    }
+  }
+
+  /**
+   * Drops the entries for the id and name of the given object, including a remembered miss for
+   * the name.
+   */
+  public void invalidate(T value) {
+    if (value != null) {
+      invalidateId(idOf.apply(value));
+      invalidateName(nameOf.apply(value));
+    }
+  }
+
+  public synchronized void clear() {
+    Arrays.fill(invalidatedAt, ++invalidations);
+    byId.clear();
+    idsByName.clear();
+    missingNames.clear();
+  }
+
+  public synchronized int size() {
+    return byId.size();
+  }
+
+  /**
+   * Drops every expired entry; expired entries are otherwise only dropped when looked up.
+   */
+  public synchronized void evictExpired() {
+    long now = System.nanoTime();
+    Iterator<Entry<T>> entries = byId.values().iterator();
+    while (entries.hasNext()) {
+      Entry<T> entry = entries.next();
+      if (entry.isExpired(now)) {
+        entries.remove();
+        removeName(entry);
+      }
+    }
+  }
+
+  private T live(String id, Entry<T> entry) {
+    if (entry == null) {
+      return null;
+    }
+    if (entry.isExpired(System.nanoTime())) {
+      byId.remove(id);
+      removeName(entry);
+      return null;
+    }
+    return entry.value;
+  }
+
+  private void recordInvalidation(String key) {
+    if (key != null) {
+      invalidatedAt[slot(key)] = ++invalidations;
+    }
+  }
+
+  private boolean invalidatedSince(String key, long since) {
+    return key != null && invalidatedAt[slot(key)] > since;
+  }
+
+  private static int slot(String key) {
+    return (key.hashCode() & Integer.MAX_VALUE) % INVALIDATION_SLOTS;
+  }
+
+  private void removeName(Entry<T> entry) {
+    if (entry.name != null) {
+      idsByName.remove(entry.name, entry.id);
+    }
+  }
+
+  private static final class Entry<T> {
+    private final T value;
+    private final String id;
+    private final String name;
+    private final long expiresAt;
+
+    private Entry(T value, String id, String name, long expiresAt) {
+      this.value = value;
+      this.id = id;
+      this.name = name;
+      this.expiresAt = expiresAt;
+    }
+
+    private boolean isExpired(long now) {
+      return now - expiresAt >= 0;
+    }
+  }
+
+}
@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import java.util.concurrent.TimeUnit;
+
+import org.edgexfoundry.exception.controller.DataValidationException;
+import org.jboss.resteasy.client.jaxrs.ResteasyClient;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+
+public final class HttpEngines {
+
+  public static final String POOLED = "pooled";
+  public static final String NIO = "nio";
+
+  private HttpEngines() {}
+
+  /**
+   * Builds a client on the HTTP engine configured by client.http-engine.
+   */
+  public static ResteasyClient build(String name, int maxConnections, int maxConnectionsPerRoute,
+      long connectionTtl) {
+    return build(name, maxConnections, maxConnectionsPerRoute, connectionTtl,
+        NioHttpEngine.DEFAULT_REQUEST_TIMEOUT);
+  }
+
+  /**
+   * @param requestTimeout milliseconds a request may take on the nio engine
+   */
+  public static ResteasyClient build(String name, int maxConnections, int maxConnectionsPerRoute,
+      long connectionTtl, long requestTimeout) {
+    if (name == null || name.isEmpty() || POOLED.equals(name)) {
+      return new ResteasyClientBuilder().connectionPoolSize(maxConnections)
+          .maxPooledPerRoute(maxConnectionsPerRoute)
+          .connectionTTL(connectionTtl, TimeUnit.MILLISECONDS)
+          .register(ObjectMapperResolver.class).build();
+    }
+    if (NIO.equals(name)) {
+      return new ResteasyClientBuilder()
+          .httpEngine(new NioHttpEngine(maxConnections, maxConnectionsPerRoute, requestTimeout))
+          .register(ObjectMapperResolver.class).build();
+    }
+    throw new DataValidationException("unknown client.http-engine: " + name);
+  }
+
+}
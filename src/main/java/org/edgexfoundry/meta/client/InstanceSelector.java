@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import java.util.List;
+
+/**
+ * Strategy used to pick the core-metadata instance that serves a single request.
+ */
+public interface InstanceSelector {
+
+  /**
+   * Returns one of the candidates, or null when there are none. Implementations are called
+   * concurrently from request threads and must be thread-safe.
+   */
+  MetadataInstance select(List<MetadataInstance> candidates);
+
+}
@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import org.edgexfoundry.exception.controller.DataValidationException;
+
+public final class InstanceSelectors {
+
+  public static final String ROUND_ROBIN = "round-robin";
+  public static final String RANDOM = "random";
+  public static final String POWER_OF_TWO_CHOICES = "power-of-two-choices";
+  public static final String LEAST_LATENCY = "least-latency";
+
+  private InstanceSelectors() {}
+
+  /**
+   * Creates the selector configured by client.instance-selection.
+   */
+  public static InstanceSelector forName(String name) {
+    if (name == null || name.isEmpty() || ROUND_ROBIN.equals(name)) {
+      return new RoundRobinSelector();
+    }
+    if (RANDOM.equals(name)) {
+      return new RandomSelector();
+    }
+    if (POWER_OF_TWO_CHOICES.equals(name)) {
+      return new PowerOfTwoChoicesSelector();
+    }
+    if (LEAST_LATENCY.equals(name)) {
+      return new LeastLatencySelector();
+    }
+    throw new DataValidationException("unknown client.instance-selection: " + name);
+  }
+
+}
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Wraps a JAX-RS proxy bound to one metadata instance so that every call is accounted against
+ * that instance.
+ */
+class InstanceTrackingHandler implements InvocationHandler {
+
+  private final Object target;
+  private final MetadataInstance instance;
+  private final OutlierDetector outlierDetector;
+
+  InstanceTrackingHandler(Object target, MetadataInstance instance,
+      OutlierDetector outlierDetector) {
+    this.target = target;
+    this.instance = instance;
+    this.outlierDetector = outlierDetector;
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    if (method.getDeclaringClass() == Object.class) {
+      return invokeTarget(method, args);
+    }
+    long start = callStarted(instance);
+    Throwable error = null;
+    try {
+      return invokeTarget(method, args);
+    } catch (Throwable e) {
+      error = e;
+      throw e;
+    } finally {
+      callFinished(instance, outlierDetector, start, error);
+    }
+  }
+
+  /**
+   * Accounts a call to the instance as started and returns its start time, to be handed to
+   * {@link #callFinished} once the call completes. Used as well by the calls that do not go
+   * through a proxy, such as asynchronous and streaming reads.
+   */
+  static long callStarted(MetadataInstance instance) {
+    instance.callStarted();
+    instance.getStats().callStarted();
+    return System.nanoTime();
+  }
+
+  /**
+   * Accounts a call started at start as finished, failed when error is one the outlier detector
+   * holds against the instance.
+   */
+  static void callFinished(MetadataInstance instance, OutlierDetector outlierDetector, long start,
+      Throwable error) {
+    callFinished(instance, outlierDetector, start, System.nanoTime(), error);
+  }
+
+  /**
+   * Accounts a call as finished with the latency from start to end, for calls that stay in
+   * flight past the point their latency is taken, such as a stream that is read after its
+   * response arrived.
+   */
+  static void callFinished(MetadataInstance instance, OutlierDetector outlierDetector, long start,
+      long end, Throwable error) {
+    long elapsed = end - start;
+    boolean failed = error != null && outlierDetector.isFailure(error);
+    instance.callFinished(elapsed, failed);
+    instance.getStats().callFinished(elapsed, error);
+    if (failed) {
+      outlierDetector.callFailed(instance);
+    } else {
+      outlierDetector.callSucceeded(instance);
+    }
+  }
+
+  private Object invokeTarget(Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+}
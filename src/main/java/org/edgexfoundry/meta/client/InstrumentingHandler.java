@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Records every call made through a client interface in the ClientMetrics it was created for.
+ */
+class InstrumentingHandler implements InvocationHandler {
+
+  private final Object target;
+  private final String prefix;
+  private final ClientMetrics metrics;
+
+  InstrumentingHandler(Object target, Class<?> clientType, ClientMetrics metrics) {
+    this.target = target;
+    this.prefix = clientType.getSimpleName() + ".";
+    this.metrics = metrics;
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    if (method.getDeclaringClass() == Object.class) {
+      return invokeTarget(method, args);
+    }
+    CallStats stats = metrics.forMethod(prefix + method.getName());
+    long start = System.nanoTime();
+    Throwable error = null;
+    stats.callStarted();
+    try {
+      return invokeTarget(method, args);
+    } catch (Throwable e) {
+      error = e;
+      throw e;
+    } finally {
+      stats.callFinished(System.nanoTime() - start, error);
+    }
+  }
+
+  private Object invokeTarget(Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+}
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Picks the instance with the lowest expected wait: its latency average, plus a floor, scaled by
+ * the number of requests already queued on it. An instance that has not finished a call yet is
+ * taken to be as fast as the mean of the others, so it is tried without drawing every request
+ * while its first calls are still outstanding. The latency average decays toward that mean while
+ * an instance gets no calls (see {@link MetadataInstance#LATENCY_HALF_LIFE_NANOS}), so an
+ * instance passed over after a slow spell is picked again instead of starving, and failed calls
+ * count as slow ones (see {@link MetadataInstance#FAILURE_PENALTY_NANOS}). The scan starts at a
+ * rotating offset so ties are spread across instances.
+ */
+public class LeastLatencySelector implements InstanceSelector {
+
+  // added to every latency average so that requests in flight count even where it is near 0
+  public static final long LATENCY_FLOOR_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  private final AtomicInteger offset = new AtomicInteger();
+
+  @Override
+  public MetadataInstance select(List<MetadataInstance> candidates) {
+    if (candidates == null || candidates.isEmpty()) {
+      return null;
+    }
+    int size = candidates.size();
+    double sum = 0;
+    int sampled = 0;
+    for (MetadataInstance candidate : candidates) {
+      if (candidate.hasLatencySample()) {
+        sum += candidate.getLatencyEwma();
+        sampled++;
+      }
+    }
+    double mean = sampled == 0 ? 0 : sum / sampled;
+    long now = System.nanoTime();
+    int start = Math.floorMod(offset.getAndIncrement(), size);
+    MetadataInstance best = null;
+    double bestScore = Double.MAX_VALUE;
+    for (int i = 0; i < size; i++) {
+      MetadataInstance candidate = candidates.get((start + i) % size);
+      double score = (candidate.getLatencyEwma(now, mean) + LATENCY_FLOOR_NANOS)
+          * (candidate.getInFlight() + 1);
+      if (best == null || score < bestScore) {
+        best = candidate;
+        bestScore = score;
+      }
+    }
+    return best;
+  }
+
+}
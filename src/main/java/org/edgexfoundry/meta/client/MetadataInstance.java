@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A core-metadata instance found through discovery, along with the request statistics used to
+ * choose between instances.
+ */
+public class MetadataInstance {
+
+  // weight of the newest sample in the latency average
+  public static final double LATENCY_EWMA_ALPHA = 0.3;
+
+  // the distance of the latency average from the value it is compared against halves for every
+  // interval of this length without a new sample, so old samples lose their weight
+  public static final long LATENCY_HALF_LIFE_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+  // least latency sample taken for a failed call, so a node that fails fast does not look like
+  // the quickest one; a call that timed out counts with the time it took
+  public static final long FAILURE_PENALTY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private static final long NO_SAMPLE = Double.doubleToLongBits(-1);
+
+  private final String rootUrl;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicLong latencyEwma = new AtomicLong(NO_SAMPLE);
+  private volatile long lastSampleNanos;
+  private final AtomicInteger consecutiveFailures = new AtomicInteger();
+  private final AtomicLong errorRate = new AtomicLong(Double.doubleToLongBits(0));
+  private volatile long ejectedUntil;
+  private final CallStats stats = new CallStats();
+
+  public MetadataInstance(String rootUrl) {
+    this.rootUrl = rootUrl;
+  }
+
+  public String getRootUrl() {
+    return rootUrl;
+  }
+
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  /**
+   * Returns the exponentially weighted moving average of call latency in nanoseconds as of the
+   * last sample, or 0 when no call has finished yet.
+   */
+  public double getLatencyEwma() {
+    return Math.max(0, Double.longBitsToDouble(latencyEwma.get()));
+  }
+
+  public boolean hasLatencySample() {
+    return Double.longBitsToDouble(latencyEwma.get()) >= 0;
+  }
+
+  /**
+   * Returns the latency average decayed toward target by the time since the last sample, or
+   * target when no call has finished yet.
+   */
+  double getLatencyEwma(long nowNanos, double target) {
+    double value = Double.longBitsToDouble(latencyEwma.get());
+    if (value < 0) {
+      return target;
+    }
+    long age = nowNanos - lastSampleNanos;
+    if (age <= 0) {
+      return value;
+    }
+    return target + (value - target) * Math.pow(0.5, (double) age / LATENCY_HALF_LIFE_NANOS);
+  }
+
+  /**
+   * Returns the call count, errors and latency distribution of the calls made to this instance.
+   */
+  public CallStats getStats() {
+    return stats;
+  }
+
+  public int getConsecutiveFailures() {
+    return consecutiveFailures.get();
+  }
+
+  /**
+   * Returns the moving average of the share of failed calls, between 0 and 1.
+   */
+  public double getErrorRate() {
+    return Double.longBitsToDouble(errorRate.get());
+  }
+
+  /**
+   * Returns true while the instance is ejected from selection after being found unhealthy.
+   */
+  public boolean isEjected() {
+    return System.currentTimeMillis() < ejectedUntil;
+  }
+
+  boolean isCoolingDown() {
+    return ejectedUntil != 0;
+  }
+
+  void callStarted() {
+    inFlight.incrementAndGet();
+  }
+
+  /**
+   * Accounts for a finished call. A failed call is a latency sample of at least
+   * {@link #FAILURE_PENALTY_NANOS}: a node that fails fast would otherwise look like the quickest
+   * one and draw more traffic.
+   */
+  void callFinished(long latencyNanos, boolean failed) {
+    callFinished(latencyNanos, failed, System.nanoTime());
+  }
+
+  void callFinished(long latencyNanos, boolean failed, long nowNanos) {
+    inFlight.decrementAndGet();
+    long sample = failed ? Math.max(latencyNanos, FAILURE_PENALTY_NANOS) : latencyNanos;
+    // the average first decays toward the new sample, so samples from long ago weigh less
+    long current;
+    long updated;
+    do {
+      current = latencyEwma.get();
+      double value = Double.longBitsToDouble(current);
+      double decayed = value < 0 ? -1 : getLatencyEwma(nowNanos, sample);
+      double next = decayed < 0 ? sample : decayed + LATENCY_EWMA_ALPHA * (sample - decayed);
+      updated = Double.doubleToLongBits(next);
+    } while (!latencyEwma.compareAndSet(current, updated));
+    lastSampleNanos = nowNanos;
+  }
+
+  void recordOutcome(boolean failed, double errorRateAlpha) {
+    if (failed) {
+      consecutiveFailures.incrementAndGet();
+    } else {
+      consecutiveFailures.set(0);
+    }
+    updateAverage(errorRate, failed ? 1 : 0, errorRateAlpha);
+  }
+
+  void eject(long until) {
+    ejectedUntil = until;
+  }
+
+  void reinstate() {
+    consecutiveFailures.set(0);
+    errorRate.set(Double.doubleToLongBits(0));
+    ejectedUntil = 0;
+  }
+
+  private static void updateAverage(AtomicLong average, double sample, double alpha) {
+    long current;
+    long updated;
+    do {
+      current = average.get();
+      double value = Double.longBitsToDouble(current);
+      double next = value < 0 ? sample : value + alpha * (sample - value);
+      updated = Double.doubleToLongBits(next);
+    } while (!average.compareAndSet(current, updated));
+  }
+
+  @Override
+  public String toString() {
+    return "MetadataInstance [rootUrl=" + rootUrl + ", inFlight=" + inFlight + ", latencyEwma="
+        + getLatencyEwma() + ", errorRate=" + getErrorRate() + ", ejected=" + isEjected() + "]";
+  }
+
+}
@@ -0,0 +1,284 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.edgexfoundry.controller.PingMetaDataClient;
+import org.jboss.resteasy.client.jaxrs.ResteasyClient;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.stereotype.Component;
+
+/**
+ * Process-wide view of the core-metadata instances known through discovery. Every metadata
+ * client consults this one registry, so discovery lookups, instance statistics, outlier ejection
+ * and health checks are shared by all clients instead of being repeated per client.
+ */
+@Component
+public class MetadataInstanceRegistry {
+
+  private static final Log logger = LogFactory.getLog(MetadataInstanceRegistry.class);
+
+  public static final String DEFAULT_HEALTH_CHECK_PATH = "/api/v1/ping";
+  public static final long DEFAULT_HEALTH_CHECK_TIMEOUT = 2000;
+  public static final long DEFAULT_DISCOVERY_REFRESH_INTERVAL = 30000;
+
+  @Autowired
+  private DiscoveryClient discoveryClient;
+
+  // when true, the first non-empty discovery result is kept and never looked up again, with or
+  // without background refresh
+  @Value("${client.is-cache-discovery-result:false}")
+  private boolean cacheDiscoveryResult;
+
+  // when > 0, discovery runs in the background every interval (ms) and requests use the cached
+  // instance list; 0 puts a Consul lookup on the path of every request
+  @Value("${client.discovery-refresh-interval:" + DEFAULT_DISCOVERY_REFRESH_INTERVAL + "}")
+  private long discoveryRefreshInterval = DEFAULT_DISCOVERY_REFRESH_INTERVAL;
+
+  @Value("${client.outlier.consecutive-failures:"
+      + OutlierDetector.DEFAULT_CONSECUTIVE_FAILURES + "}")
+  private int outlierConsecutiveFailures = OutlierDetector.DEFAULT_CONSECUTIVE_FAILURES;
+
+  @Value("${client.outlier.max-error-rate:" + OutlierDetector.DEFAULT_MAX_ERROR_RATE + "}")
+  private double outlierMaxErrorRate = OutlierDetector.DEFAULT_MAX_ERROR_RATE;
+
+  // how long (ms) an unhealthy instance stays out of selection
+  @Value("${client.outlier.ejection-time:" + OutlierDetector.DEFAULT_EJECTION_TIME + "}")
+  private long outlierEjectionTime = OutlierDetector.DEFAULT_EJECTION_TIME;
+
+  // when > 0, every discovered instance is pinged in the background every interval (ms)
+  @Value("${client.health-check-interval:0}")
+  private long healthCheckInterval;
+
+  @Value("${client.health-check-path:" + DEFAULT_HEALTH_CHECK_PATH + "}")
+  private String healthCheckPath = DEFAULT_HEALTH_CHECK_PATH;
+
+  // connect and read timeout (ms) of a health check ping
+  @Value("${client.health-check-timeout:" + DEFAULT_HEALTH_CHECK_TIMEOUT + "}")
+  private long healthCheckTimeout = DEFAULT_HEALTH_CHECK_TIMEOUT;
+
+  private volatile InstanceSelector selector = new RoundRobinSelector();
+  private volatile OutlierDetector outlierDetector = new OutlierDetector();
+
+  private volatile List<MetadataInstance> discoveredInstances = Collections.emptyList();
+  // bumped whenever the discovered root URLs change
+  private final AtomicLong discoveryVersion = new AtomicLong();
+  private final ConcurrentMap<String, MetadataInstance> instances = new ConcurrentHashMap<>();
+  private ScheduledExecutorService scheduler;
+
+  private ResteasyClient healthCheckClient;
+  private final ConcurrentMap<String, PingMetaDataClient> healthCheckProxies =
+      new ConcurrentHashMap<>();
+
+  public MetadataInstanceRegistry() {
+    // settings and the discovery client are injected by Spring
+  }
+
+  // a registry outside of Spring, with the default settings
+  MetadataInstanceRegistry(DiscoveryClient discoveryClient) {
+    this.discoveryClient = discoveryClient;
+  }
+
+  @Value("${client.instance-selection:" + InstanceSelectors.ROUND_ROBIN + "}")
+  public void setInstanceSelection(String name) {
+    selector = InstanceSelectors.forName(name);
+  }
+
+  @PostConstruct
+  void init() {
+    outlierDetector =
+        new OutlierDetector(outlierConsecutiveFailures, outlierMaxErrorRate, outlierEjectionTime);
+    if (discoveryRefreshInterval > 0) {
+      refreshDiscoveredInstances();
+      getScheduler().scheduleWithFixedDelay(this::refreshDiscoveredInstances,
+          discoveryRefreshInterval, discoveryRefreshInterval, TimeUnit.MILLISECONDS);
+    }
+    if (healthCheckInterval > 0) {
+      healthCheckClient = new ResteasyClientBuilder()
+          .establishConnectionTimeout(healthCheckTimeout, TimeUnit.MILLISECONDS)
+          .socketTimeout(healthCheckTimeout, TimeUnit.MILLISECONDS).build();
+      getScheduler().scheduleWithFixedDelay(this::checkInstanceHealth, healthCheckInterval,
+          healthCheckInterval, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+    }
+    if (healthCheckClient != null) {
+      healthCheckClient.close();
+    }
+  }
+
+  /**
+   * Picks the instance that should serve the next request, or returns null when discovery has
+   * not found any instance.
+   */
+  public MetadataInstance select() {
+    return selector.select(outlierDetector.available(currentInstances()));
+  }
+
+  /**
+   * Returns the instance requests would currently go to first, without counting as a selection,
+   * or null when discovery has not found any instance.
+   */
+  public MetadataInstance peek() {
+    List<MetadataInstance> available = outlierDetector.available(discoveredInstances);
+    return available.isEmpty() ? null : available.get(0);
+  }
+
+  /**
+   * Returns a number that changes whenever the set of discovered root URLs does, for callers
+   * caching anything per instance.
+   */
+  public long getDiscoveryVersion() {
+    return discoveryVersion.get();
+  }
+
+  /**
+   * Returns the instances currently known through discovery.
+   */
+  public List<MetadataInstance> getInstances() {
+    return discoveredInstances;
+  }
+
+  public OutlierDetector getOutlierDetector() {
+    return outlierDetector;
+  }
+
+  private List<MetadataInstance> lookupInstances() {
+    if (discoveryClient == null) {
+      return Collections.emptyList();
+    }
+    List<ServiceInstance> list = discoveryClient.getInstances(ConsulDiscoveryClientTemplate.APP_ID);
+    if (list == null || list.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<MetadataInstance> result = new ArrayList<>(list.size());
+    for (ServiceInstance serviceInstance : list) {
+      URI uri = serviceInstance.getUri();
+      if (uri != null) {
+        result.add(instances.computeIfAbsent(uri.toString(), MetadataInstance::new));
+      }
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  // keeps the last known instances when discovery fails or comes back empty, and the first
+  // non-empty list for good when client.is-cache-discovery-result is true
+  private void refreshDiscoveredInstances() {
+    if (cacheDiscoveryResult && !discoveredInstances.isEmpty()) {
+      return;
+    }
+    try {
+      List<MetadataInstance> list = lookupInstances();
+      if (!list.isEmpty()) {
+        discovered(list);
+      }
+    } catch (RuntimeException e) {
+      logger.warn("Unable to refresh " + ConsulDiscoveryClientTemplate.APP_ID
+          + " instances, keeping last known list", e);
+    }
+  }
+
+  private List<MetadataInstance> currentInstances() {
+    List<MetadataInstance> known = discoveredInstances;
+    if (discoveryRefreshInterval > 0 || (cacheDiscoveryResult && !known.isEmpty())) {
+      return known;
+    }
+    List<MetadataInstance> list = lookupInstances();
+    if (!list.isEmpty()) {
+      discovered(list);
+      return list;
+    }
+    return known;
+  }
+
+  // forgets the state of instances the new list no longer has, so instances that come and go do
+  // not pile up
+  private void discovered(List<MetadataInstance> list) {
+    List<MetadataInstance> previous = discoveredInstances;
+    discoveredInstances = list;
+    Set<String> rootUrls = rootUrls(list);
+    if (!rootUrls.equals(rootUrls(previous))) {
+      instances.keySet().retainAll(rootUrls);
+      healthCheckProxies.keySet().retainAll(rootUrls);
+      discoveryVersion.incrementAndGet();
+    }
+  }
+
+  static Set<String> rootUrls(List<MetadataInstance> list) {
+    Set<String> result = new HashSet<>();
+    for (MetadataInstance instance : list) {
+      result.add(instance.getRootUrl());
+    }
+    return result;
+  }
+
+  private ScheduledExecutorService getScheduler() {
+    if (scheduler == null) {
+      scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, ConsulDiscoveryClientTemplate.APP_ID + "-registry");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    return scheduler;
+  }
+
+  private void checkInstanceHealth() {
+    for (MetadataInstance instance : discoveredInstances) {
+      try {
+        healthCheckProxies.computeIfAbsent(instance.getRootUrl(),
+            url -> healthCheckClient.target(url + healthCheckPath).proxy(PingMetaDataClient.class))
+            .ping();
+        outlierDetector.pingSucceeded(instance);
+      } catch (RuntimeException e) {
+        if (!instance.isEjected()) {
+          logger.warn("Health check of " + instance.getRootUrl() + " failed, ejecting it", e);
+        }
+        outlierDetector.pingFailed(instance);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,225 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.util.EntityUtils;
+import org.jboss.resteasy.client.jaxrs.ClientHttpEngine;
+import org.jboss.resteasy.client.jaxrs.internal.ClientInvocation;
+import org.jboss.resteasy.client.jaxrs.internal.ClientResponse;
+import org.jboss.resteasy.util.CaseInsensitiveMap;
+
+/**
+ * HTTP engine on Apache HttpAsyncClient. Requests share a small, fixed set of I/O dispatcher
+ * threads and a pool of non-blocking connections. Responses are buffered in full before they are
+ * handed over, so no connection stays leased while the caller reads the entity, but a large list
+ * is held in memory whole.
+ *
+ * <p>
+ * Through RESTEasy proxies ({@link #invoke}) the calling thread still waits for each response,
+ * so the synchronous clients gain nothing in concurrency from this engine. The gain comes from
+ * {@link #submit}, which completes a callback on an I/O thread, so any number of requests can be
+ * outstanding without a thread waiting on each. Every request is bounded by the request timeout,
+ * both on the wire and for a caller waiting on it.
+ */
+public class NioHttpEngine implements ClientHttpEngine {
+
+  private static final Log logger = LogFactory.getLog(NioHttpEngine.class);
+
+  public static final long DEFAULT_REQUEST_TIMEOUT = 30000;
+
+  private final CloseableHttpAsyncClient httpClient;
+  private final long requestTimeout;
+
+  public NioHttpEngine(int maxConnections, int maxConnectionsPerRoute) {
+    this(maxConnections, maxConnectionsPerRoute, DEFAULT_REQUEST_TIMEOUT);
+  }
+
+  /**
+   * @param requestTimeout milliseconds allowed to lease a connection, to connect and between
+   *        packets of a response, and the longest a synchronous caller waits for a response
+   */
+  public NioHttpEngine(int maxConnections, int maxConnectionsPerRoute, long requestTimeout) {
+    this.requestTimeout = requestTimeout;
+    int timeout = (int) Math.min(requestTimeout, Integer.MAX_VALUE);
+    httpClient = HttpAsyncClients.custom().setMaxConnTotal(maxConnections)
+        .setMaxConnPerRoute(maxConnectionsPerRoute)
+        .setDefaultRequestConfig(RequestConfig.custom().setConnectionRequestTimeout(timeout)
+            .setConnectTimeout(timeout).setSocketTimeout(timeout).build())
+        .build();
+    httpClient.start();
+  }
+
+  @Override
+  public SSLContext getSslContext() {
+    return null;
+  }
+
+  @Override
+  public HostnameVerifier getHostnameVerifier() {
+    return null;
+  }
+
+  @Override
+  public ClientResponse invoke(ClientInvocation request) {
+    Future<HttpResponse> future = httpClient.execute(createRequest(request), null);
+    HttpResponse response;
+    try {
+      response = future.get(requestTimeout, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new ProcessingException("Interrupted while invoking " + request.getUri(), e);
+    } catch (ExecutionException e) {
+      throw new ProcessingException("Unable to invoke request", e.getCause());
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      throw new ProcessingException(
+          "No response from " + request.getUri() + " within " + requestTimeout + "ms", e);
+    }
+    return createResponse(request, response);
+  }
+
+  /**
+   * Sends the request without blocking and hands the buffered response, or the failure, to the
+   * callback on an I/O dispatcher thread. The callback must not block: it holds up every other
+   * request served by that thread. Cancelling the returned future aborts the request.
+   *
+   * @throws ProcessingException when the request body cannot be written
+   */
+  public Future<HttpResponse> submit(ClientInvocation request,
+      FutureCallback<ClientResponse> callback) {
+    return httpClient.execute(createRequest(request), new FutureCallback<HttpResponse>() {
+      @Override
+      public void completed(HttpResponse result) {
+        ClientResponse response;
+        try {
+          response = createResponse(request, result);
+        } catch (RuntimeException e) {
+          callback.failed(e);
+          return;
+        }
+        callback.completed(response);
+      }
+
+      @Override
+      public void failed(Exception e) {
+        callback.failed(e);
+      }
+
+      @Override
+      public void cancelled() {
+        callback.cancelled();
+      }
+    });
+  }
+
+  @Override
+  public void close() {
+    try {
+      httpClient.close();
+    } catch (IOException e) {
+      logger.warn("Problem closing the async HTTP client: " + e.getMessage());
+    }
+  }
+
+  private HttpUriRequest createRequest(ClientInvocation request) {
+    RequestBuilder builder = RequestBuilder.create(request.getMethod()).setUri(request.getUri());
+    MultivaluedMap<String, String> headers = request.getHeaders().asMap();
+    for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+      for (String value : header.getValue()) {
+        builder.addHeader(header.getKey(), value);
+      }
+    }
+    if (request.getEntity() != null) {
+      ByteArrayOutputStream body = new ByteArrayOutputStream();
+      try {
+        request.writeRequestBody(body);
+      } catch (IOException e) {
+        throw new ProcessingException("Unable to write request body", e);
+      }
+      builder.setEntity(new ByteArrayEntity(body.toByteArray()));
+    }
+    return builder.build();
+  }
+
+  private ClientResponse createResponse(ClientInvocation request, HttpResponse httpResponse) {
+    byte[] body;
+    try {
+      HttpEntity entity = httpResponse.getEntity();
+      body = entity != null ? EntityUtils.toByteArray(entity) : new byte[0];
+    } catch (IOException e) {
+      throw new ProcessingException("Unable to read response body", e);
+    }
+    ClientResponse response = new ClientResponse(request.getClientConfiguration()) {
+      private InputStream stream = new ByteArrayInputStream(body);
+
+      @Override
+      public InputStream getInputStream() {
+        return stream;
+      }
+
+      @Override
+      protected void setInputStream(InputStream is) {
+        stream = is;
+      }
+
+      @Override
+      public void releaseConnection() throws IOException {
+        // the body is fully buffered and the connection already returned to the pool
+      }
+    };
+    response.setProperties(request.getMutableProperties());
+    response.setStatus(httpResponse.getStatusLine().getStatusCode());
+    CaseInsensitiveMap<String> headers = new CaseInsensitiveMap<>();
+    for (Header header : httpResponse.getAllHeaders()) {
+      headers.add(header.getName(), header.getValue());
+    }
+    response.setHeaders(headers);
+    return response;
+  }
+
+}
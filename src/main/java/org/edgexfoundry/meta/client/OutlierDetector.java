@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.ServerErrorException;
+
+/**
+ * Decides when a metadata instance is unhealthy and takes it out of selection. An instance is
+ * ejected after too many consecutive failed calls, when its error rate spikes, or when a health
+ * check ping fails. After the ejection time it becomes selectable again; a successful ping
+ * reinstates it with clean statistics, while another failure ejects it right away.
+ *
+ * <p>
+ * The two limits catch different faults. The error rate is a moving average that gives each call
+ * a weight of {@link #ERROR_RATE_ALPHA}, so starting from a clean instance a streak of n failures
+ * raises it to 1 - 0.9^n: 0.34 after four failures, 0.41 after five. With the default rate limit
+ * of 0.4 a dead instance is therefore caught by the consecutive count and the rate together on
+ * its fifth failure. The rate limit is what catches a flaky instance whose failures are
+ * interleaved with successes and never line up five in a row: one that fails every other call
+ * settles around 0.5 and is ejected, while one failing one call in four stays below 0.3 and keeps
+ * serving. Lowering the rate limit under 0.34 lets it fire before the consecutive count.
+ */
+public class OutlierDetector {
+
+  public static final int DEFAULT_CONSECUTIVE_FAILURES = 5;
+  public static final double DEFAULT_MAX_ERROR_RATE = 0.4;
+  public static final long DEFAULT_EJECTION_TIME = 30000;
+
+  // weight of the newest call in the error rate average
+  public static final double ERROR_RATE_ALPHA = 0.1;
+
+  private final int consecutiveFailures;
+  private final double maxErrorRate;
+  private final long ejectionTime;
+
+  public OutlierDetector() {
+    this(DEFAULT_CONSECUTIVE_FAILURES, DEFAULT_MAX_ERROR_RATE, DEFAULT_EJECTION_TIME);
+  }
+
+  public OutlierDetector(int consecutiveFailures, double maxErrorRate, long ejectionTime) {
+    this.consecutiveFailures = consecutiveFailures;
+    this.maxErrorRate = maxErrorRate;
+    this.ejectionTime = ejectionTime;
+  }
+
+  /**
+   * Connection problems and 5xx responses count against an instance; other client errors such as
+   * a 404 for an unknown name are legitimate answers.
+   */
+  public boolean isFailure(Throwable error) {
+    return error instanceof ProcessingException || error instanceof ServerErrorException;
+  }
+
+  public void callSucceeded(MetadataInstance instance) {
+    instance.recordOutcome(false, ERROR_RATE_ALPHA);
+  }
+
+  public void callFailed(MetadataInstance instance) {
+    instance.recordOutcome(true, ERROR_RATE_ALPHA);
+    if (instance.getConsecutiveFailures() >= consecutiveFailures
+        || instance.getErrorRate() >= maxErrorRate) {
+      eject(instance);
+    }
+  }
+
+  public void pingSucceeded(MetadataInstance instance) {
+    if (instance.isCoolingDown() && !instance.isEjected()) {
+      instance.reinstate();
+    }
+  }
+
+  public void pingFailed(MetadataInstance instance) {
+    instance.recordOutcome(true, ERROR_RATE_ALPHA);
+    eject(instance);
+  }
+
+  /**
+   * Returns the candidates that are not ejected. When every candidate is ejected all of them are
+   * returned, as trying a suspect instance beats failing every request outright.
+   */
+  public List<MetadataInstance> available(List<MetadataInstance> candidates) {
+    int ejected = 0;
+    for (MetadataInstance candidate : candidates) {
+      if (candidate.isEjected()) {
+        ejected++;
+      }
+    }
+    if (ejected == 0 || ejected == candidates.size()) {
+      return candidates;
+    }
+    List<MetadataInstance> result = new ArrayList<>(candidates.size() - ejected);
+    for (MetadataInstance candidate : candidates) {
+      if (!candidate.isEjected()) {
+        result.add(candidate);
+      }
+    }
+    return result;
+  }
+
+  private void eject(MetadataInstance instance) {
+    instance.eject(System.currentTimeMillis() + ejectionTime);
+  }
+
+}
@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks two distinct instances at random and uses the one with fewer requests in flight.
+ */
+public class PowerOfTwoChoicesSelector implements InstanceSelector {
+
+  @Override
+  public MetadataInstance select(List<MetadataInstance> candidates) {
+    if (candidates == null || candidates.isEmpty()) {
+      return null;
+    }
+    int size = candidates.size();
+    if (size == 1) {
+      return candidates.get(0);
+    }
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int first = random.nextInt(size);
+    int second = random.nextInt(size - 1);
+    if (second >= first) {
+      second++;
+    }
+    MetadataInstance a = candidates.get(first);
+    MetadataInstance b = candidates.get(second);
+    return a.getInFlight() <= b.getInFlight() ? a : b;
+  }
+
+}
@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import org.jboss.resteasy.client.jaxrs.ResteasyClient;
+
+/**
+ * The nio client behind the asynchronous calls of every client bean, so they all share one
+ * connection pool and one set of I/O dispatcher threads. The first bean to make an asynchronous
+ * call creates it with its settings, and the last bean using it closes it.
+ */
+final class SharedAsyncClient {
+
+  private static ResteasyClient client;
+  private static int users;
+
+  private SharedAsyncClient() {}
+
+  static synchronized ResteasyClient acquire(int maxConnections, int maxConnectionsPerRoute,
+      long requestTimeout) {
+    if (client == null) {
+      client = HttpEngines.build(HttpEngines.NIO, maxConnections, maxConnectionsPerRoute,
+          ConsulDiscoveryClientTemplate.DEFAULT_CONNECTION_TTL, requestTimeout);
+    }
+    users++;
+    return client;
+  }
+
+  static synchronized void release() {
+    if (users > 0 && --users == 0) {
+      client.close();
+      client = null;
+    }
+  }
+
+}
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical calls: while a call for a key is running, other callers with the
+ * same key wait for it and receive its result (or exception) instead of making their own call.
+ * Nothing is kept once the call completes.
+ */
+public class SingleFlight {
+
+  private final ConcurrentMap<Object, CompletableFuture<Object>> calls = new ConcurrentHashMap<>();
+
+  @SuppressWarnings("unchecked")
+  public <T> T execute(Object key, Supplier<T> call) {
+    CompletableFuture<Object> created = new CompletableFuture<>();
+    CompletableFuture<Object> running = calls.putIfAbsent(key, created);
+    if (running != null) {
+      return (T) await(running);
+    }
+    try {
+      T result = call.get();
+      created.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      created.completeExceptionally(e);
+      throw e;
+    } finally {
+      calls.remove(key, created);
+    }
+  }
+
+  private static Object await(CompletableFuture<Object> running) {
+    try {
+      return running.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+
+}
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongPredicate;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.ServerErrorException;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Buffers timestamp updates such as last reported / last connected and only sends the newest
+ * timestamp per key once per flush interval, with at most maxConcurrency updates in flight. When
+ * any of the coalesced updates asked for a notification, the newest timestamp is sent with one.
+ * Updates that fail because core-metadata could not be reached are kept for the next flush
+ * unless a newer timestamp has arrived meanwhile; updates rejected with a server error are
+ * retried at most {@link #MAX_SERVER_ERROR_RETRIES} times.
+ */
+public class TimestampWriteBehind {
+
+  private static final Log logger = LogFactory.getLog(TimestampWriteBehind.class);
+
+  public static final long DEFAULT_FLUSH_INTERVAL = 1000;
+  public static final int DEFAULT_MAX_CONCURRENCY = 4;
+  public static final int MAX_SERVER_ERROR_RETRIES = 3;
+  // how long (ms) close waits for a running flush and for the final one
+  public static final long CLOSE_TIMEOUT = 30000;
+
+  private final ConcurrentMap<Object, Pending> pending = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService scheduler;
+  private final ExecutorService writers;
+  private volatile boolean closed;
+
+  /**
+   * @param flushInterval milliseconds between flushes
+   * @param maxConcurrency maximum number of updates sent at the same time
+   */
+  public TimestampWriteBehind(long flushInterval, int maxConcurrency) {
+    scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, ConsulDiscoveryClientTemplate.APP_ID + "-write-behind");
+      thread.setDaemon(true);
+      return thread;
+    });
+    writers = Executors.newFixedThreadPool(maxConcurrency, runnable -> {
+      Thread thread = new Thread(runnable, ConsulDiscoveryClientTemplate.APP_ID + "-writer");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Queues the timestamp for the key, replacing any older queued timestamp, and returns true.
+   * The writer is called with the timestamp on the next flush. Once closed, nothing flushes any
+   * more, so the writer is called right away and its result returned.
+   */
+  public boolean submit(Object key, long time, LongPredicate writer) {
+    return submit(key, time, false, writer);
+  }
+
+  /**
+   * Queues the timestamp for the key like {@link #submit(Object, long, LongPredicate)}. The
+   * writer of a notifying update is kept even when a newer update without notification replaces
+   * its timestamp, so the notification is not lost.
+   */
+  public boolean submit(Object key, long time, boolean notify, LongPredicate writer) {
+    if (closed) {
+      return writer.test(time);
+    }
+    pending.merge(key, new Pending(time, notify, writer, 0), Pending::merge);
+    if (closed) {
+      // closed while queueing: sends what the last flush may have missed
+      Pending missed = pending.remove(key);
+      if (missed != null) {
+        return missed.writer.test(missed.time);
+      }
+    }
+    return true;
+  }
+
+  public int getPendingCount() {
+    return pending.size();
+  }
+
+  /**
+   * Sends every queued timestamp and waits for the updates to complete.
+   */
+  public void flush() {
+    List<Callable<Boolean>> updates = new ArrayList<>();
+    for (Map.Entry<Object, Pending> entry : pending.entrySet()) {
+      Object key = entry.getKey();
+      Pending update = entry.getValue();
+      if (pending.remove(key, update)) {
+        updates.add(() -> send(key, update));
+      }
+    }
+    if (updates.isEmpty()) {
+      return;
+    }
+    try {
+      writers.invokeAll(updates);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Stops the periodic flushes, lets a flush already running finish and sends what is still
+   * queued, waiting up to {@link #CLOSE_TIMEOUT} milliseconds for each. Later submits are sent
+   * right away.
+   */
+  public void close() {
+    closed = true;
+    scheduler.shutdown();
+    try {
+      if (!scheduler.awaitTermination(CLOSE_TIMEOUT, TimeUnit.MILLISECONDS)) {
+        logger.warn("Timestamp flush still running after " + CLOSE_TIMEOUT + "ms, closing anyway");
+      }
+      flush();
+      writers.shutdown();
+      if (!writers.awaitTermination(CLOSE_TIMEOUT, TimeUnit.MILLISECONDS)) {
+        logger.warn("Timestamp updates still running after " + CLOSE_TIMEOUT + "ms");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      writers.shutdown();
+    }
+  }
+
+  private boolean send(Object key, Pending update) {
+    try {
+      return update.writer.test(update.time);
+    } catch (ProcessingException e) {
+      pending.merge(key, update, Pending::merge);
+      logger.warn("Timestamp update " + key + " failed, retrying on next flush", e);
+    } catch (ServerErrorException e) {
+      if (update.retries < MAX_SERVER_ERROR_RETRIES) {
+        pending.merge(key, update.retried(), Pending::merge);
+        logger.warn("Timestamp update " + key + " failed, retrying on next flush", e);
+      } else {
+        logger.warn("Timestamp update " + key + " failed " + (update.retries + 1)
+            + " times, dropping it", e);
+      }
+    } catch (RuntimeException e) {
+      logger.warn("Timestamp update " + key + " failed, dropping it", e);
+    }
+    return false;
+  }
+
+  private static final class Pending {
+    private final long time;
+    private final boolean notify;
+    private final LongPredicate writer;
+    private final int retries;
+
+    private Pending(long time, boolean notify, LongPredicate writer, int retries) {
+      this.time = time;
+      this.notify = notify;
+      this.writer = writer;
+      this.retries = retries;
+    }
+
+    private Pending retried() {
+      return new Pending(time, notify, writer, retries + 1);
+    }
+
+    // keeps the newest timestamp, sent through a notifying writer if either update has one
+    private static Pending merge(Pending current, Pending update) {
+      Pending newest = update.time >= current.time ? update : current;
+      Pending other = newest == update ? current : update;
+      if (!newest.notify && other.notify) {
+        return new Pending(newest.time, true, other.writer, newest.retries);
+      }
+      return newest;
+    }
+  }
+
+}
@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.functional;
+
+import static org.edgexfoundry.test.data.AddressableData.TEST_ADDR_NAME;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.NotFoundException;
+
+import org.edgexfoundry.controller.AsyncAddressableClient;
+import org.edgexfoundry.controller.impl.AsyncAddressableClientImpl;
+import org.edgexfoundry.controller.impl.AsyncDeviceClientImpl;
+import org.edgexfoundry.domain.meta.Addressable;
+import org.edgexfoundry.meta.client.AsyncClientTemplate;
+import org.edgexfoundry.meta.client.ConsulDiscoveryClientTemplate;
+import org.edgexfoundry.test.category.RequiresNone;
+import org.edgexfoundry.test.data.AddressableData;
+import org.edgexfoundry.test.stub.StubMetadataServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(RequiresNone.class)
+public class AsyncClientFunctionalTest {
+
+  private static final long LATENCY = 200;
+
+  private StubMetadataServer server;
+  private AsyncAddressableClient client;
+
+  @Before
+  public void setup() throws Exception {
+    server = new StubMetadataServer();
+    server.start();
+    client = server.connect(new AsyncAddressableClientImpl(), "addressable");
+  }
+
+  @After
+  public void cleanup() throws Exception {
+    close(client);
+    server.stop();
+  }
+
+  @Test
+  public void testAddReadUpdateDelete() throws Exception {
+    Addressable addressable = AddressableData.newTestInstance();
+    String id = get(client.add(addressable));
+    AddressableData.checkTestData(get(client.addressable(id)), id);
+    AddressableData.checkTestData(get(client.addressableForName(TEST_ADDR_NAME)), id);
+    assertEquals(1, get(client.addressables()).size());
+    addressable.setId(id);
+    addressable.setPort(48090);
+    assertTrue("Update not reported", get(client.update(addressable)));
+    assertEquals(48090, get(client.addressable(id)).getPort());
+    assertTrue("Delete not reported", get(client.deleteByName(TEST_ADDR_NAME)));
+  }
+
+  @Test
+  public void testNotFoundFailsFuture() throws Exception {
+    try {
+      get(client.addressableForName("unknown"));
+      fail("Future did not fail for an unknown name");
+    } catch (ExecutionException e) {
+      assertTrue("Unexpected failure " + e.getCause(), e.getCause() instanceof NotFoundException);
+    }
+  }
+
+  @Test
+  public void testRequestsOverlapWithoutThreads() throws Exception {
+    // creates the engine and connection before the timing starts
+    get(client.addressables());
+    server.setLatency(LATENCY, 0);
+    int requests = 100;
+    long start = System.nanoTime();
+    List<CompletableFuture<List<Addressable>>> results = new ArrayList<>();
+    for (int i = 0; i < requests; i++) {
+      results.add(client.addressables());
+    }
+    long submitted = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    // a caller waiting on each response would take requests * LATENCY
+    assertTrue("Submitting blocked the caller for " + submitted + "ms",
+        submitted < requests * LATENCY / 10);
+    for (CompletableFuture<List<Addressable>> result : results) {
+      get(result);
+    }
+    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    // one connection per route at a time would take requests * LATENCY
+    assertTrue("Requests did not overlap: " + elapsed + "ms", elapsed < requests * LATENCY / 4);
+  }
+
+  @Test
+  public void testRequestsBeyondLimitRejected() throws Exception {
+    Field field = AsyncClientTemplate.class.getDeclaredField("maxInFlight");
+    field.setAccessible(true);
+    field.set(client, 4);
+    server.setLatency(LATENCY, 0);
+    List<CompletableFuture<List<Addressable>>> results = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      results.add(client.addressables());
+    }
+    int rejected = 0;
+    for (CompletableFuture<List<Addressable>> result : results) {
+      try {
+        get(result);
+      } catch (ExecutionException e) {
+        assertTrue("Unexpected failure " + e.getCause(),
+            e.getCause() instanceof RejectedExecutionException);
+        rejected++;
+      }
+    }
+    assertEquals("Requests beyond the limit were not rejected", 6, rejected);
+    assertEquals("Permits not released", 0, get(client.addressables()).size());
+  }
+
+  @Test
+  public void testBeansShareOneClient() throws Exception {
+    AsyncDeviceClientImpl devices = server.connect(new AsyncDeviceClientImpl(), "device");
+    get(client.addressables());
+    get(devices.devices());
+    Object shared = asyncClient(client);
+    assertNotNull("No async client in use", shared);
+    assertSame("Beans use different async clients", shared, asyncClient(devices));
+    close(devices);
+    assertEquals("Closing one bean closed the shared client", 0,
+        get(client.addressables()).size());
+  }
+
+  private static Object asyncClient(Object bean) throws Exception {
+    Field field = ConsulDiscoveryClientTemplate.class.getDeclaredField("asyncClient");
+    field.setAccessible(true);
+    return field.get(bean);
+  }
+
+  // what Spring does when the context closes
+  private static void close(Object bean) throws Exception {
+    Method method = ConsulDiscoveryClientTemplate.class.getDeclaredMethod("closeClient");
+    method.setAccessible(true);
+    method.invoke(bean);
+  }
+
+  private static <T> T get(CompletableFuture<T> future) throws Exception {
+    return future.get(10, TimeUnit.SECONDS);
+  }
+
+}
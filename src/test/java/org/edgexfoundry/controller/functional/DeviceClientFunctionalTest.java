@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.functional;
+
+import static org.edgexfoundry.test.data.DeviceData.TEST_LABELS;
+import static org.edgexfoundry.test.data.DeviceData.TEST_NAME;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import javax.ws.rs.ClientErrorException;
+import javax.ws.rs.NotFoundException;
+
+import org.edgexfoundry.controller.AddressableClient;
+import org.edgexfoundry.controller.DeviceClient;
+import org.edgexfoundry.controller.DeviceProfileClient;
+import org.edgexfoundry.controller.DeviceServiceClient;
+import org.edgexfoundry.controller.impl.AddressableClientImpl;
+import org.edgexfoundry.controller.impl.DeviceClientImpl;
+import org.edgexfoundry.controller.impl.DeviceProfileClientImpl;
+import org.edgexfoundry.controller.impl.DeviceServiceClientImpl;
+import org.edgexfoundry.domain.meta.Addressable;
+import org.edgexfoundry.domain.meta.Device;
+import org.edgexfoundry.domain.meta.DeviceProfile;
+import org.edgexfoundry.domain.meta.DeviceService;
+import org.edgexfoundry.domain.meta.OperatingState;
+import org.edgexfoundry.test.category.RequiresNone;
+import org.edgexfoundry.test.data.AddressableData;
+import org.edgexfoundry.test.data.DeviceData;
+import org.edgexfoundry.test.data.ProfileData;
+import org.edgexfoundry.test.data.ServiceData;
+import org.edgexfoundry.test.stub.StubMetadataServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(RequiresNone.class)
+public class DeviceClientFunctionalTest {
+
+  private StubMetadataServer server;
+  private DeviceClient client;
+  private AddressableClient addrClient;
+  private String id;
+
+  @Before
+  public void setup() throws Exception {
+    server = new StubMetadataServer();
+    server.start();
+    client = server.connect(new DeviceClientImpl(), "device");
+    addrClient = server.connect(new AddressableClientImpl(), "addressable");
+    DeviceServiceClient srvClient = server.connect(new DeviceServiceClientImpl(), "deviceservice");
+    DeviceProfileClient proClient = server.connect(new DeviceProfileClientImpl(), "deviceprofile");
+    Addressable addr = AddressableData.newTestInstance();
+    addrClient.add(addr);
+    DeviceService service = ServiceData.newTestInstance();
+    service.setAddressable(addr);
+    srvClient.add(service);
+    DeviceProfile profile = ProfileData.newTestInstance();
+    proClient.add(profile);
+    Device device = DeviceData.newTestInstance();
+    device.setAddressable(addr);
+    device.setProfile(profile);
+    device.setService(service);
+    id = client.add(device);
+    assertNotNull("Device did not get created correctly", id);
+  }
+
+  @After
+  public void cleanup() {
+    server.stop();
+  }
+
+  @Test
+  public void testDevice() {
+    Device device = client.device(id);
+    assertEquals(TEST_NAME, device.getName());
+    assertEquals("Referenced profile was not returned", ProfileData.TEST_PROFILE_NAME,
+        device.getProfile().getName());
+    assertEquals("Referenced addressable was not returned", AddressableData.TEST_ADDR_NAME,
+        device.getAddressable().getName());
+  }
+
+  @Test(expected = NotFoundException.class)
+  public void testDeviceWithUnknownId() {
+    client.device("nosuchid");
+  }
+
+  @Test
+  public void testDeviceForName() {
+    assertEquals(id, client.deviceForName(TEST_NAME).getId());
+  }
+
+  @Test
+  public void testDevicesByLabel() {
+    List<Device> devices = client.devicesByLabel(TEST_LABELS[0]);
+    assertEquals("Find for labels not returning appropriate list", 1, devices.size());
+    assertTrue("No devices should be found with bad label",
+        client.devicesByLabel("badlabel").isEmpty());
+  }
+
+  @Test
+  public void testDevicesForServiceByName() {
+    List<Device> devices = client.devicesForServiceByName(ServiceData.TEST_SERVICE_NAME);
+    assertEquals("Find for services not returning appropriate list", 1, devices.size());
+  }
+
+  @Test(expected = NotFoundException.class)
+  public void testDevicesForServiceByNameWithNone() {
+    client.devicesForServiceByName("badservice");
+  }
+
+  @Test(expected = ClientErrorException.class)
+  public void testAddWithSameName() {
+    Device device = client.device(id);
+    device.setId(null);
+    client.add(device);
+  }
+
+  @Test(expected = ClientErrorException.class)
+  public void testAddWithNoDeviceProfile() {
+    Device device = client.device(id);
+    device.setId(null);
+    device.setName("newname");
+    device.setProfile(null);
+    client.add(device);
+  }
+
+  @Test
+  public void testUpdate() {
+    Device device = client.device(id);
+    device.setDescription("newdescription");
+    assertTrue("Update did not complete successfully", client.update(device));
+    assertEquals("newdescription", client.device(id).getDescription());
+  }
+
+  @Test
+  public void testUpdateLastConnectedAndOpState() {
+    assertTrue(client.updateLastConnected(id, 1000));
+    assertTrue(client.updateOpStateByName(TEST_NAME, OperatingState.DISABLED.toString()));
+    Device device = client.device(id);
+    assertEquals("Update last connected did not work correctly", 1000,
+        device.getLastConnected());
+    assertEquals("Update op state did not work correctly", OperatingState.DISABLED,
+        device.getOperatingState());
+  }
+
+  @Test(expected = ClientErrorException.class)
+  public void testDeleteAddressableInUse() {
+    addrClient.deleteByName(AddressableData.TEST_ADDR_NAME);
+  }
+
+  @Test
+  public void testDelete() {
+    assertTrue("Delete did not return correctly", client.delete(id));
+    assertTrue("Device was not deleted", client.devices().isEmpty());
+  }
+
+  @Test(expected = NotFoundException.class)
+  public void testDeleteWithNone() {
+    client.delete("badid");
+  }
+
+}
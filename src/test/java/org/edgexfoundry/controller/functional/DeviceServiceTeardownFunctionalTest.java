@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.functional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.edgexfoundry.controller.AddressableClient;
+import org.edgexfoundry.controller.DeviceClient;
+import org.edgexfoundry.controller.DeviceProfileClient;
+import org.edgexfoundry.controller.DeviceReportClient;
+import org.edgexfoundry.controller.DeviceServiceClient;
+import org.edgexfoundry.controller.ProvisionWatcherClient;
+import org.edgexfoundry.controller.ScheduleClient;
+import org.edgexfoundry.controller.ScheduleEventClient;
+import org.edgexfoundry.controller.impl.AddressableClientImpl;
+import org.edgexfoundry.controller.impl.DeviceClientImpl;
+import org.edgexfoundry.controller.impl.DeviceProfileClientImpl;
+import org.edgexfoundry.controller.impl.DeviceReportClientImpl;
+import org.edgexfoundry.controller.impl.DeviceServiceClientImpl;
+import org.edgexfoundry.controller.impl.DeviceServiceTeardown;
+import org.edgexfoundry.controller.impl.ProvisionWatcherClientImpl;
+import org.edgexfoundry.controller.impl.ScheduleClientImpl;
+import org.edgexfoundry.controller.impl.ScheduleEventClientImpl;
+import org.edgexfoundry.domain.meta.Addressable;
+import org.edgexfoundry.domain.meta.Device;
+import org.edgexfoundry.domain.meta.DeviceProfile;
+import org.edgexfoundry.domain.meta.DeviceService;
+import org.edgexfoundry.domain.meta.ScheduleEvent;
+import org.edgexfoundry.meta.client.BatchResult;
+import org.edgexfoundry.test.category.RequiresNone;
+import org.edgexfoundry.test.data.AddressableData;
+import org.edgexfoundry.test.data.DeviceData;
+import org.edgexfoundry.test.data.ProfileData;
+import org.edgexfoundry.test.data.ReportData;
+import org.edgexfoundry.test.data.ScheduleData;
+import org.edgexfoundry.test.data.ScheduleEventData;
+import org.edgexfoundry.test.data.ServiceData;
+import org.edgexfoundry.test.stub.StubMetadataServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(RequiresNone.class)
+public class DeviceServiceTeardownFunctionalTest {
+
+  private StubMetadataServer server;
+  private DeviceServiceClient srvClient;
+  private DeviceClient deviceClient;
+  private DeviceReportClient reportClient;
+  private ScheduleEventClient evtClient;
+  private ScheduleClient schClient;
+  private AddressableClient addrClient;
+  private DeviceServiceTeardown teardown;
+
+  @Before
+  public void setup() throws Exception {
+    server = new StubMetadataServer();
+    server.start();
+    srvClient = server.connect(new DeviceServiceClientImpl(), "deviceservice");
+    deviceClient = server.connect(new DeviceClientImpl(), "device");
+    reportClient = server.connect(new DeviceReportClientImpl(), "devicereport");
+    evtClient = server.connect(new ScheduleEventClientImpl(), "scheduleevent");
+    schClient = server.connect(new ScheduleClientImpl(), "schedule");
+    addrClient = server.connect(new AddressableClientImpl(), "addressable");
+    DeviceProfileClient proClient = server.connect(new DeviceProfileClientImpl(), "deviceprofile");
+    ProvisionWatcherClient watcherClient =
+        server.connect(new ProvisionWatcherClientImpl(), "provisionwatcher");
+    teardown = new DeviceServiceTeardown(srvClient, deviceClient, reportClient, evtClient,
+        watcherClient, addrClient);
+
+    schClient.add(ScheduleData.newTestInstance());
+    Addressable addr = AddressableData.newTestInstance();
+    addrClient.add(addr);
+    DeviceService service = ServiceData.newTestInstance();
+    service.setAddressable(addr);
+    srvClient.add(service);
+    ScheduleEvent event = ScheduleEventData.newTestInstance();
+    event.setAddressable(addr);
+    event.setService(ServiceData.TEST_SERVICE_NAME);
+    evtClient.add(event);
+    DeviceProfile profile = ProfileData.newTestInstance();
+    proClient.add(profile);
+    Device device = DeviceData.newTestInstance();
+    device.setAddressable(addr);
+    device.setProfile(profile);
+    device.setService(service);
+    deviceClient.add(device);
+    reportClient.add(ReportData.newTestInstance());
+  }
+
+  @After
+  public void cleanup() {
+    server.stop();
+  }
+
+  @Test
+  public void testTeardownRemovesServiceAndDependents() {
+    BatchResult<String, Boolean> result = teardown.teardown(ServiceData.TEST_SERVICE_NAME);
+    assertFalse("Teardown failed: " + result.getErrors(), result.hasErrors());
+    assertTrue("Device service was not deleted", srvClient.deviceServices().isEmpty());
+    assertTrue("Device was not deleted", deviceClient.devices().isEmpty());
+    assertTrue("Device report was not deleted", reportClient.deviceReports().isEmpty());
+    assertTrue("Schedule event was not deleted", evtClient.scheduleEvents().isEmpty());
+    assertTrue("Unused addressable was not deleted", addrClient.addressables().isEmpty());
+    assertEquals("Schedule does not belong to the service", 1, schClient.schedules().size());
+  }
+
+}
@@ -0,0 +1,252 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.functional;
+
+import static org.edgexfoundry.test.data.DeviceData.TEST_LABELS;
+import static org.edgexfoundry.test.data.DeviceData.TEST_NAME;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.ws.rs.NotFoundException;
+
+import org.edgexfoundry.controller.DeviceClient;
+import org.edgexfoundry.controller.DeviceProfileClient;
+import org.edgexfoundry.controller.StreamingDeviceClient;
+import org.edgexfoundry.controller.StreamingDeviceProfileClient;
+import org.edgexfoundry.controller.impl.AddressableClientImpl;
+import org.edgexfoundry.controller.impl.DeviceClientImpl;
+import org.edgexfoundry.controller.impl.DeviceProfileClientImpl;
+import org.edgexfoundry.controller.impl.DeviceServiceClientImpl;
+import org.edgexfoundry.controller.impl.StreamingDeviceClientImpl;
+import org.edgexfoundry.controller.impl.StreamingDeviceProfileClientImpl;
+import org.edgexfoundry.domain.meta.Addressable;
+import org.edgexfoundry.domain.meta.Device;
+import org.edgexfoundry.domain.meta.DeviceProfile;
+import org.edgexfoundry.domain.meta.DeviceService;
+import org.edgexfoundry.meta.client.ConsulDiscoveryClientTemplate;
+import org.edgexfoundry.meta.client.HttpEngines;
+import org.edgexfoundry.meta.client.MetadataInstance;
+import org.edgexfoundry.meta.client.MetadataInstanceRegistry;
+import org.edgexfoundry.test.category.RequiresNone;
+import org.edgexfoundry.test.data.AddressableData;
+import org.edgexfoundry.test.data.DeviceData;
+import org.edgexfoundry.test.data.ProfileData;
+import org.edgexfoundry.test.data.ServiceData;
+import org.edgexfoundry.test.stub.StubMetadataServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+
+@Category(RequiresNone.class)
+public class StreamingClientFunctionalTest {
+
+  private static final int DEVICES = 50;
+  private static final String SLASHED_LABEL = "floor/2";
+
+  private StubMetadataServer server;
+  private StreamingDeviceClient client;
+  private StreamingDeviceProfileClient proStream;
+  private DeviceClient devClient;
+
+  @Before
+  public void setup() throws Exception {
+    server = new StubMetadataServer();
+    server.start();
+    client = server.connect(new StreamingDeviceClientImpl(), "device");
+    proStream = server.connect(new StreamingDeviceProfileClientImpl(), "deviceprofile");
+    devClient = server.connect(new DeviceClientImpl(), "device");
+    DeviceProfileClient proClient = server.connect(new DeviceProfileClientImpl(), "deviceprofile");
+    Addressable addr = AddressableData.newTestInstance();
+    server.connect(new AddressableClientImpl(), "addressable").add(addr);
+    DeviceService service = ServiceData.newTestInstance();
+    service.setAddressable(addr);
+    server.connect(new DeviceServiceClientImpl(), "deviceservice").add(service);
+    DeviceProfile profile = ProfileData.newTestInstance();
+    proClient.add(profile);
+    for (int i = 0; i < DEVICES; i++) {
+      Device device = DeviceData.newTestInstance();
+      device.setName(TEST_NAME + i);
+      device.setAddressable(addr);
+      device.setProfile(profile);
+      device.setService(service);
+      devClient.add(device);
+    }
+  }
+
+  @After
+  public void cleanup() {
+    server.stop();
+  }
+
+  @Test
+  public void testDevices() {
+    try (Stream<Device> devices = client.devices()) {
+      List<String> names = devices.map(Device::getName).collect(Collectors.toList());
+      assertEquals("Stream did not return every device", DEVICES, names.size());
+      assertEquals(TEST_NAME + 0, names.get(0));
+      assertEquals(TEST_NAME + (DEVICES - 1), names.get(DEVICES - 1));
+    }
+  }
+
+  @Test
+  public void testDevicesHaveReferences() {
+    try (Stream<Device> devices = client.devicesForServiceByName(ServiceData.TEST_SERVICE_NAME)) {
+      assertTrue("Referenced profile was not returned", devices.allMatch(
+          device -> ProfileData.TEST_PROFILE_NAME.equals(device.getProfile().getName())));
+    }
+  }
+
+  @Test
+  public void testDevicesByLabel() {
+    try (Stream<Device> devices = client.devicesByLabel(TEST_LABELS[0])) {
+      assertEquals(DEVICES, devices.count());
+    }
+    try (Stream<Device> devices = client.devicesByLabel("badlabel")) {
+      assertEquals("No devices should be found with bad label", 0, devices.count());
+    }
+  }
+
+  @Test(expected = NotFoundException.class)
+  public void testDevicesForServiceByNameWithNone() {
+    client.devicesForServiceByName("badservice");
+  }
+
+  @Test
+  public void testClosingEarlyReleasesTheConnection() {
+    // more streams than the pool holds connections per route
+    for (int i = 0; i < ConsulDiscoveryClientTemplate.DEFAULT_MAX_CONNECTIONS_PER_ROUTE + 5; i++) {
+      try (Stream<Device> devices = client.devices()) {
+        assertEquals(TEST_NAME + 0, devices.findFirst().get().getName());
+      }
+    }
+  }
+
+  @Test
+  public void testDeviceProfiles() {
+    try (Stream<DeviceProfile> profiles = proStream.deviceProfiles()) {
+      assertEquals(ProfileData.TEST_PROFILE_NAME, profiles.findFirst().get().getName());
+    }
+  }
+
+  @Test
+  public void testPathsEncodedLikeTheProxy() {
+    // answers only the exact raw path the proxy sends for the label
+    server.respond("GET", StubMetadataServer.BASE_PATH + "device/label/floor%2F2", 200,
+        "[{\"name\":\"canned\"}]");
+    List<String> expected = devClient.devicesByLabel(SLASHED_LABEL).stream()
+        .map(Device::getName).collect(Collectors.toList());
+    assertEquals("Proxy path changed", Collections.singletonList("canned"), expected);
+    try (Stream<Device> devices = client.devicesByLabel(SLASHED_LABEL)) {
+      assertEquals(expected, devices.map(Device::getName).collect(Collectors.toList()));
+    }
+  }
+
+  @Test
+  public void testStreamsAccountedAgainstTheInstance() throws Exception {
+    MetadataInstanceRegistry registry = new MetadataInstanceRegistry();
+    setField(MetadataInstanceRegistry.class, registry, "discoveryClient", discovery());
+    setField(MetadataInstanceRegistry.class, registry, "discoveryRefreshInterval", 0L);
+    StreamingDeviceClientImpl tracked = server.connect(new StreamingDeviceClientImpl(), "device");
+    setField(ConsulDiscoveryClientTemplate.class, tracked, "registry", registry);
+
+    Stream<Device> devices = tracked.devices();
+    MetadataInstance instance = registry.getInstances().get(0);
+    assertEquals("Open stream not in flight", 1, instance.getInFlight());
+    devices.close();
+    assertEquals("Closed stream still in flight", 0, instance.getInFlight());
+    assertEquals(1, instance.getStats().getSnapshot().getCalls());
+
+    // read to the end without being closed
+    Iterator<Device> all = tracked.devices().iterator();
+    while (all.hasNext()) {
+      all.next();
+    }
+    assertEquals("Stream read to the end still in flight", 0, instance.getInFlight());
+
+    try {
+      tracked.devicesForServiceByName("badservice");
+    } catch (NotFoundException e) {
+      // expected, and not held against the instance
+    }
+    assertEquals(0, instance.getInFlight());
+    assertEquals(0, instance.getConsecutiveFailures());
+  }
+
+  @Test
+  public void testNioClientStreamsOverPooledConnections() throws Exception {
+    StreamingDeviceClientImpl nio = server.connect(new StreamingDeviceClientImpl(), "device");
+    setField(ConsulDiscoveryClientTemplate.class, nio, "httpEngine", HttpEngines.NIO);
+    for (int i = 0; i < ConsulDiscoveryClientTemplate.DEFAULT_MAX_CONNECTIONS_PER_ROUTE + 5; i++) {
+      try (Stream<Device> devices = nio.devices()) {
+        assertEquals(TEST_NAME + 0, devices.findFirst().get().getName());
+      }
+    }
+    try (Stream<Device> devices = nio.devices()) {
+      assertEquals("Stream did not return every device", DEVICES, devices.count());
+    }
+  }
+
+  // discovers the stub server as the only core-metadata instance
+  private DiscoveryClient discovery() {
+    String host = server.getUrl("").replaceAll("http://|:\\d+$", "");
+    int port = Integer.parseInt(server.getUrl("").replaceAll(".*:", ""));
+    ServiceInstance instance =
+        new DefaultServiceInstance(ConsulDiscoveryClientTemplate.APP_ID, host, port, false);
+    return new DiscoveryClient() {
+      @Override
+      public String description() {
+        return "stub discovery client";
+      }
+
+      @Override
+      public ServiceInstance getLocalServiceInstance() {
+        return null;
+      }
+
+      @Override
+      public List<ServiceInstance> getInstances(String serviceId) {
+        return Collections.singletonList(instance);
+      }
+
+      @Override
+      public List<String> getServices() {
+        return Collections.singletonList(ConsulDiscoveryClientTemplate.APP_ID);
+      }
+    };
+  }
+
+  private static void setField(Class<?> type, Object target, String name, Object value)
+      throws Exception {
+    Field field = type.getDeclaredField(name);
+    field.setAccessible(true);
+    field.set(target, value);
+  }
+
+}
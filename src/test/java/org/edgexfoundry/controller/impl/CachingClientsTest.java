@@ -0,0 +1,315 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import javax.ws.rs.NotFoundException;
+
+import org.edgexfoundry.controller.AddressableClient;
+import org.edgexfoundry.controller.CommandClient;
+import org.edgexfoundry.controller.DeviceClient;
+import org.edgexfoundry.controller.DeviceProfileClient;
+import org.edgexfoundry.controller.DeviceReportClient;
+import org.edgexfoundry.controller.DeviceServiceClient;
+import org.edgexfoundry.controller.ProvisionWatcherClient;
+import org.edgexfoundry.controller.ScheduleClient;
+import org.edgexfoundry.controller.ScheduleEventClient;
+import org.edgexfoundry.domain.meta.Addressable;
+import org.edgexfoundry.domain.meta.Command;
+import org.edgexfoundry.domain.meta.Device;
+import org.edgexfoundry.domain.meta.DeviceProfile;
+import org.edgexfoundry.domain.meta.DeviceReport;
+import org.edgexfoundry.domain.meta.DeviceService;
+import org.edgexfoundry.domain.meta.ProvisionWatcher;
+import org.edgexfoundry.domain.meta.Schedule;
+import org.edgexfoundry.domain.meta.ScheduleEvent;
+import org.edgexfoundry.test.category.RequiresNone;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(RequiresNone.class)
+public class CachingClientsTest {
+
+  private static final String ID = "1";
+  private static final String NAME = "one";
+
+  private static final List<String> WRITES = Arrays.asList("add", "update", "delete",
+      "deleteByName");
+  private static final List<String> STATE_WRITES = Arrays.asList("add", "update", "delete",
+      "deleteByName", "updateOpState", "updateOpStateByName", "updateAdminState",
+      "updateAdminStateByName");
+
+  // every caching decorator, its reads by id and name and the writes that must evict
+  private static final List<Case> CASES = Arrays.asList(
+      new Case(AddressableClient.class, CachingAddressableClient.class, Addressable.class,
+          "addressable", "addressableForName", WRITES),
+      new Case(CommandClient.class, CachingCommandClient.class, Command.class, "command", null,
+          Arrays.asList("update", "delete")),
+      new Case(DeviceClient.class, CachingDeviceClient.class, Device.class, "device",
+          "deviceForName", STATE_WRITES),
+      new Case(DeviceProfileClient.class, CachingDeviceProfileClient.class, DeviceProfile.class,
+          "deviceProfile", "deviceProfileForName", WRITES),
+      new Case(DeviceReportClient.class, CachingDeviceReportClient.class, DeviceReport.class,
+          "deviceReport", "deviceReportForName", WRITES),
+      new Case(DeviceServiceClient.class, CachingDeviceServiceClient.class, DeviceService.class,
+          "deviceService", "deviceServiceForName", STATE_WRITES),
+      new Case(ProvisionWatcherClient.class, CachingProvisionWatcherClient.class,
+          ProvisionWatcher.class, "provisionWatcher", "provisionWatcherForName", WRITES),
+      new Case(ScheduleClient.class, CachingScheduleClient.class, Schedule.class, "schedule",
+          "scheduleForName", WRITES),
+      new Case(ScheduleEventClient.class, CachingScheduleEventClient.class, ScheduleEvent.class,
+          "scheduleEvent", "scheduleEventForName", WRITES));
+
+  private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+  private ExecutorService pool;
+
+  @Before
+  public void setup() {
+    pool = Executors.newSingleThreadExecutor();
+  }
+
+  @After
+  public void cleanup() {
+    pool.shutdownNow();
+  }
+
+  @Test
+  public void testReadsServedFromCacheByIdAndName() throws Exception {
+    for (Case c : CASES) {
+      calls.clear();
+      Object client = c.decorate(counting(c, Collections.emptyMap()));
+      for (int i = 0; i < 3; i++) {
+        c.readById(client);
+        c.readByName(client);
+      }
+      assertEquals(c.byId + " not cached", 1, count(c.byId));
+      if (c.byName != null) {
+        assertEquals(c.byName + " not served from the entry fetched by id", 0, count(c.byName));
+      }
+    }
+  }
+
+  @Test
+  public void testWritesEvictByIdAndName() throws Exception {
+    for (Case c : CASES) {
+      for (String write : c.writes) {
+        String label = c.decorator.getSimpleName() + "." + write;
+        calls.clear();
+        Object client = c.decorate(counting(c, Collections.emptyMap()));
+        c.readById(client);
+        c.invoke(client, write);
+        c.readById(client);
+        assertEquals(label + " did not evict by id", 2, count(c.byId));
+        if (c.byName != null) {
+          calls.clear();
+          client = c.decorate(counting(c, Collections.emptyMap()));
+          c.readByName(client);
+          c.invoke(client, write);
+          c.readByName(client);
+          assertEquals(label + " did not evict by name", 2, count(c.byName));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testReadOverlappingUpdateNotCached() throws Exception {
+    Case c = CASES.get(2);
+    CountDownLatch reading = new CountDownLatch(1);
+    CountDownLatch updated = new CountDownLatch(1);
+    Map<String, Function<Object[], Object>> answers = new HashMap<>();
+    // the first read fetches the device before the update and returns after it was evicted
+    answers.put("device", args -> {
+      if (count("device") == 1) {
+        reading.countDown();
+        await(updated);
+      }
+      return c.entity();
+    });
+    DeviceClient client = (DeviceClient) c.decorate(counting(c, answers));
+
+    Future<Device> stale = pool.submit(() -> client.device(ID));
+    assertTrue("Read did not start", reading.await(10, TimeUnit.SECONDS));
+    client.update((Device) c.entity());
+    updated.countDown();
+    stale.get(10, TimeUnit.SECONDS);
+
+    client.deviceForName(NAME);
+    assertEquals("Read that overlapped the update was cached", 1, count("deviceForName"));
+  }
+
+  @Test
+  public void testNotFoundOverlappingAddNotRemembered() throws Exception {
+    Case c = CASES.get(2);
+    CountDownLatch reading = new CountDownLatch(1);
+    CountDownLatch added = new CountDownLatch(1);
+    Map<String, Function<Object[], Object>> answers = new HashMap<>();
+    // the first lookup misses before the add and reports it after the add evicted the name
+    answers.put("deviceForName", args -> {
+      if (count("deviceForName") == 1) {
+        reading.countDown();
+        await(added);
+        throw new NotFoundException("No device named " + NAME);
+      }
+      return c.entity();
+    });
+    DeviceClient client = (DeviceClient) c.decorate(counting(c, answers));
+
+    Future<Device> missing = pool.submit(() -> client.deviceForName(NAME));
+    assertTrue("Lookup did not start", reading.await(10, TimeUnit.SECONDS));
+    client.add((Device) c.entity());
+    added.countDown();
+    try {
+      missing.get(10, TimeUnit.SECONDS);
+      fail("Lookup that started before the add did not report not found");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof NotFoundException);
+    }
+
+    assertEquals("Added device hidden by a stale not found", ID,
+        client.deviceForName(NAME).getId());
+    assertEquals(2, count("deviceForName"));
+  }
+
+  private Object counting(Case c, Map<String, Function<Object[], Object>> answers) {
+    return Proxy.newProxyInstance(c.client.getClassLoader(), new Class<?>[] {c.client},
+        (proxy, method, args) -> {
+          calls.computeIfAbsent(method.getName(), name -> new AtomicInteger()).incrementAndGet();
+          Function<Object[], Object> answer = answers.get(method.getName());
+          if (answer != null) {
+            return answer.apply(args);
+          }
+          if (method.getReturnType() == c.entity) {
+            return c.entity();
+          }
+          return method.getReturnType() == boolean.class ? Boolean.TRUE : ID;
+        });
+  }
+
+  private int count(String method) {
+    AtomicInteger count = calls.get(method);
+    return count == null ? 0 : count.get();
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static final class Case {
+    private final Class<?> client;
+    private final Class<?> decorator;
+    private final Class<?> entity;
+    private final String byId;
+    private final String byName;
+    private final List<String> writes;
+
+    private Case(Class<?> client, Class<?> decorator, Class<?> entity, String byId,
+        String byName, List<String> writes) {
+      this.client = client;
+      this.decorator = decorator;
+      this.entity = entity;
+      this.byId = byId;
+      this.byName = byName;
+      this.writes = writes;
+    }
+
+    private Object decorate(Object delegate) throws Exception {
+      return decorator.getConstructor(client).newInstance(delegate);
+    }
+
+    private Object entity() {
+      try {
+        Object value = entity.newInstance();
+        entity.getMethod("setId", String.class).invoke(value, ID);
+        entity.getMethod("setName", String.class).invoke(value, NAME);
+        return value;
+      } catch (ReflectiveOperationException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    private void readById(Object target) throws Exception {
+      invoke(target, byId);
+    }
+
+    private void readByName(Object target) throws Exception {
+      if (byName != null) {
+        invoke(target, byName);
+      }
+    }
+
+    // calls the shortest overload with the id, name or entity its parameters ask for
+    private Object invoke(Object target, String name) throws Exception {
+      Method method = null;
+      for (Method candidate : client.getMethods()) {
+        if (candidate.getName().equals(name) && (method == null
+            || candidate.getParameterCount() < method.getParameterCount())) {
+          method = candidate;
+        }
+      }
+      Class<?>[] types = method.getParameterTypes();
+      Object[] args = new Object[types.length];
+      for (int i = 0; i < types.length; i++) {
+        if (types[i] == entity) {
+          args[i] = entity();
+        } else if (types[i] == String.class) {
+          args[i] = i > 0 ? "ENABLED" : name.endsWith("ByName") || name.endsWith("ForName")
+              ? NAME : ID;
+        } else if (types[i] == long.class) {
+          args[i] = 0L;
+        } else if (types[i] == boolean.class) {
+          args[i] = false;
+        }
+      }
+      try {
+        return method.invoke(target, args);
+      } catch (InvocationTargetException e) {
+        throw (Exception) e.getCause();
+      }
+    }
+  }
+
+}
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.edgexfoundry.controller.DeviceProfileClient;
+import org.edgexfoundry.domain.meta.DeviceProfile;
+import org.edgexfoundry.meta.client.BatchResult;
+import org.edgexfoundry.test.category.RequiresNone;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(RequiresNone.class)
+public class DeviceProfileImporterTest {
+
+  private DeviceProfileImporter importer;
+
+  @Before
+  public void setup() {
+    // hashing never calls core-metadata
+    importer = new DeviceProfileImporter(null);
+  }
+
+  @Test
+  public void testServerFieldsDoNotChangeHash() {
+    DeviceProfile local = profile("description");
+    DeviceProfile server = profile("description");
+    server.setId("1234");
+    server.setCreated(1000);
+    server.setModified(2000);
+    server.setOrigin(3000);
+    assertEquals("Server assigned fields changed the content hash", importer.contentHash(local),
+        importer.contentHash(server));
+  }
+
+  @Test
+  public void testContentChangesHash() {
+    assertNotEquals("Changed content kept the same hash",
+        importer.contentHash(profile("description")),
+        importer.contentHash(profile("new description")));
+  }
+
+  @Test
+  public void testUpdateSendsCopyWithServerId() {
+    List<DeviceProfile> updates = new ArrayList<>();
+    DeviceProfile local = profile("new description");
+    BatchResult<String, DeviceProfileImporter.Outcome> result =
+        new DeviceProfileImporter(client(updates, true))
+            .importProfiles(Collections.singletonMap(local.getName(), local));
+    assertEquals("Changed profile not reported as updated", DeviceProfileImporter.Outcome.UPDATED,
+        result.getValues().get(local.getName()));
+    assertEquals("Update did not carry the server id", "1234", updates.get(0).getId());
+    assertEquals("Update did not carry the new content", "new description",
+        updates.get(0).getDescription());
+    assertNull("Caller's profile was modified", local.getId());
+  }
+
+  @Test
+  public void testRefusedUpdateReportedAsError() {
+    DeviceProfile local = profile("new description");
+    BatchResult<String, DeviceProfileImporter.Outcome> result =
+        new DeviceProfileImporter(client(new ArrayList<>(), false))
+            .importProfiles(Collections.singletonMap(local.getName(), local));
+    assertTrue("Refused update not reported as an error", result.hasErrors());
+    assertFalse("Refused update reported as updated",
+        result.getValues().containsKey(local.getName()));
+  }
+
+  // serves one server copy of the test profile and answers updates with the given result
+  private DeviceProfileClient client(List<DeviceProfile> updates, boolean updated) {
+    DeviceProfile server = profile("description");
+    server.setId("1234");
+    return (DeviceProfileClient) Proxy.newProxyInstance(
+        DeviceProfileClient.class.getClassLoader(), new Class<?>[] {DeviceProfileClient.class},
+        (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "deviceProfiles":
+              return Collections.singletonList(server);
+            case "update":
+              updates.add((DeviceProfile) args[0]);
+              return updated;
+            default:
+              throw new UnsupportedOperationException(method.getName());
+          }
+        });
+  }
+
+  private DeviceProfile profile(String description) {
+    DeviceProfile profile = new DeviceProfile();
+    profile.setName("TestProfile");
+    profile.setManufacturer("TestManufacturer");
+    profile.setDescription(description);
+    return profile;
+  }
+
+}
@@ -0,0 +1,252 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.controller.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.edgexfoundry.controller.AddressableClient;
+import org.edgexfoundry.controller.DeviceClient;
+import org.edgexfoundry.controller.DeviceReportClient;
+import org.edgexfoundry.controller.DeviceServiceClient;
+import org.edgexfoundry.controller.ProvisionWatcherClient;
+import org.edgexfoundry.controller.ScheduleEventClient;
+import org.edgexfoundry.domain.meta.Addressable;
+import org.edgexfoundry.domain.meta.Device;
+import org.edgexfoundry.domain.meta.DeviceReport;
+import org.edgexfoundry.domain.meta.DeviceService;
+import org.edgexfoundry.domain.meta.ScheduleEvent;
+import org.edgexfoundry.meta.client.BatchExecutor;
+import org.edgexfoundry.meta.client.BatchResult;
+import org.edgexfoundry.test.category.RequiresNone;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(RequiresNone.class)
+public class DeviceServiceTeardownTest {
+
+  private static final String SERVICE = "service";
+
+  // what the fake core-metadata holds, by id; deletes fail while something still refers to them
+  private final Map<String, Object> live = new ConcurrentHashMap<>();
+  private final Map<String, RuntimeException> failures = new HashMap<>();
+  private ExecutorService pool;
+  private DeviceServiceTeardown teardown;
+
+  @Before
+  public void setup() {
+    Addressable addr = new Addressable();
+    addr.setId("addr");
+    addr.setName("addr");
+    DeviceService service = new DeviceService();
+    service.setId(SERVICE);
+    service.setName(SERVICE);
+    service.setAddressable(addr);
+    live.put(addr.getId(), addr);
+    live.put(service.getId(), service);
+    for (int i = 0; i < 3; i++) {
+      Device device = new Device();
+      device.setId("device" + i);
+      device.setName("device" + i);
+      device.setService(service);
+      device.setAddressable(addr);
+      ScheduleEvent event = new ScheduleEvent();
+      event.setId("event" + i);
+      event.setName("event" + i);
+      event.setService(SERVICE);
+      DeviceReport report = new DeviceReport();
+      report.setId("report" + i);
+      report.setName("report" + i);
+      report.setDevice(device.getName());
+      report.setEvent(event.getName());
+      live.put(device.getId(), device);
+      live.put(event.getId(), event);
+      live.put(report.getId(), report);
+    }
+    pool = Executors.newFixedThreadPool(8);
+    teardown = new DeviceServiceTeardown(serviceClient(), deviceClient(), reportClient(),
+        eventClient(), watcherClient(), addressableClient(), new BatchExecutor(pool, 8));
+  }
+
+  @After
+  public void cleanup() {
+    pool.shutdownNow();
+  }
+
+  @Test
+  public void testTeardownDeletesReferencesFirst() {
+    BatchResult<String, Boolean> result = teardown.teardown(SERVICE);
+    assertFalse("Teardown failed: " + result.getErrors(), result.hasErrors());
+    assertEquals(11, result.getValues().size());
+    assertTrue("Not every delete succeeded", result.getValues().values().stream().allMatch(v -> v));
+    assertTrue("Objects were left behind: " + live.keySet(), live.isEmpty());
+  }
+
+  @Test
+  public void testFailedWaveStopsTeardown() {
+    failures.put("report1", new IllegalStateException("report1 cannot be deleted"));
+    BatchResult<String, Boolean> result = teardown.teardown(SERVICE);
+    assertEquals(Collections.singleton("device report report1"), result.getErrors().keySet());
+    assertTrue("Devices were deleted after a failed wave", live.containsKey("device0"));
+    assertTrue("The service was deleted after a failed wave", live.containsKey(SERVICE));
+  }
+
+  @Test
+  public void testForeignReportStopsTeardownBeforeAnyDelete() {
+    DeviceReport report = new DeviceReport();
+    report.setId("foreign");
+    report.setName("foreign");
+    report.setDevice("otherdevice");
+    report.setEvent("event0");
+    live.put(report.getId(), report);
+    int before = live.size();
+    BatchResult<String, Boolean> result = teardown.teardown(SERVICE);
+    assertEquals(Collections.singleton("schedule event event0"), result.getErrors().keySet());
+    assertTrue("Something was deleted", result.getValues().isEmpty());
+    assertEquals(before, live.size());
+  }
+
+  private boolean delete(String id) {
+    RuntimeException failure = failures.get(id);
+    if (failure != null) {
+      throw failure;
+    }
+    Object target = live.get(id);
+    if (target instanceof DeviceReport) {
+      // a slow delete leaves the report in place while anything deleted with it runs
+      sleep(200);
+    }
+    for (Object other : live.values()) {
+      if (refersTo(other, target)) {
+        throw new IllegalStateException(id + " is still referred to");
+      }
+    }
+    return live.remove(id) != null;
+  }
+
+  private static boolean refersTo(Object from, Object to) {
+    if (from instanceof DeviceReport) {
+      DeviceReport report = (DeviceReport) from;
+      return to instanceof Device && ((Device) to).getName().equals(report.getDevice())
+          || to instanceof ScheduleEvent
+              && ((ScheduleEvent) to).getName().equals(report.getEvent());
+    }
+    if (from instanceof Device) {
+      Device device = (Device) from;
+      return device.getService() == to || device.getAddressable() == to;
+    }
+    if (from instanceof DeviceService) {
+      return ((DeviceService) from).getAddressable() == to;
+    }
+    return false;
+  }
+
+  private <T> List<T> all(Class<T> type) {
+    return live.values().stream().filter(type::isInstance).map(type::cast)
+        .collect(Collectors.toList());
+  }
+
+  private List<Object> referring(String id) {
+    Object target = live.get(id);
+    return live.values().stream().filter(other -> refersTo(other, target))
+        .collect(Collectors.toList());
+  }
+
+  private DeviceServiceClient serviceClient() {
+    Map<String, Function<Object[], Object>> answers = new HashMap<>();
+    answers.put("deviceServiceForName", args -> live.get(args[0]));
+    answers.put("deviceServicesForAddressable", args -> referring((String) args[0]).stream()
+        .filter(DeviceService.class::isInstance).collect(Collectors.toList()));
+    answers.put("delete", args -> delete((String) args[0]));
+    return fake(DeviceServiceClient.class, answers);
+  }
+
+  private DeviceClient deviceClient() {
+    Map<String, Function<Object[], Object>> answers = new HashMap<>();
+    answers.put("devicesForServiceByName", args -> all(Device.class));
+    answers.put("devicesForAddressable", args -> referring((String) args[0]).stream()
+        .filter(Device.class::isInstance).collect(Collectors.toList()));
+    answers.put("delete", args -> delete((String) args[0]));
+    return fake(DeviceClient.class, answers);
+  }
+
+  private DeviceReportClient reportClient() {
+    Map<String, Function<Object[], Object>> answers = new HashMap<>();
+    answers.put("deviceReports", args -> all(DeviceReport.class));
+    answers.put("deviceReportsForDevice", args -> all(DeviceReport.class).stream()
+        .filter(report -> report.getDevice().equals(args[0])).collect(Collectors.toList()));
+    answers.put("delete", args -> delete((String) args[0]));
+    return fake(DeviceReportClient.class, answers);
+  }
+
+  private ScheduleEventClient eventClient() {
+    Map<String, Function<Object[], Object>> answers = new HashMap<>();
+    answers.put("scheduleEventsForServiceByName", args -> all(ScheduleEvent.class));
+    answers.put("scheduleEventsForAddressable", args -> new ArrayList<>());
+    answers.put("delete", args -> delete((String) args[0]));
+    return fake(ScheduleEventClient.class, answers);
+  }
+
+  private ProvisionWatcherClient watcherClient() {
+    Map<String, Function<Object[], Object>> answers = new HashMap<>();
+    answers.put("provisionWatcherForServiceByName", args -> new ArrayList<>());
+    return fake(ProvisionWatcherClient.class, answers);
+  }
+
+  private AddressableClient addressableClient() {
+    Map<String, Function<Object[], Object>> answers = new HashMap<>();
+    answers.put("delete", args -> delete((String) args[0]));
+    return fake(AddressableClient.class, answers);
+  }
+
+  private static <T> T fake(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+    return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+        (proxy, method, args) -> {
+          Function<Object[], Object> answer = answers.get(method.getName());
+          if (answer == null) {
+            throw new UnsupportedOperationException(method.getName());
+          }
+          return answer.apply(args);
+        }));
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
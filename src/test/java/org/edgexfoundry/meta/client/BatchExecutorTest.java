@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.ws.rs.NotFoundException;
+
+import org.edgexfoundry.test.category.RequiresNone;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(RequiresNone.class)
+public class BatchExecutorTest {
+
+  private static final int CONCURRENCY = 4;
+
+  private ExecutorService executor;
+  private BatchExecutor batch;
+
+  @Before
+  public void setup() {
+    executor = Executors.newFixedThreadPool(16);
+    batch = new BatchExecutor(executor, CONCURRENCY);
+  }
+
+  @After
+  public void cleanup() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testDuplicateKeysAreCalledOnce() {
+    AtomicInteger calls = new AtomicInteger();
+    BatchResult<String, String> result =
+        batch.apply(Arrays.asList("b", "a", "b", "c", "a"), key -> {
+          calls.incrementAndGet();
+          return key.toUpperCase();
+        });
+    assertEquals("Duplicate keys were called more than once", 3, calls.get());
+    assertEquals("Results are not in the order the keys were given", Arrays.asList("b", "a", "c"),
+        result.getValues().keySet().stream().collect(Collectors.toList()));
+    assertEquals("B", result.getValues().get("b"));
+  }
+
+  @Test
+  public void testFailuresAreReportedPerKey() {
+    BatchResult<String, String> result = batch.apply(Arrays.asList("found", "missing"), key -> {
+      if ("missing".equals(key)) {
+        throw new NotFoundException(key);
+      }
+      return key;
+    });
+    assertTrue("Failure was not reported", result.hasErrors());
+    assertEquals("found", result.getValues().get("found"));
+    assertTrue("Failure was not kept for its key",
+        result.getErrors().get("missing") instanceof NotFoundException);
+    assertEquals(1, result.getValues().size());
+  }
+
+  @Test
+  public void testConcurrencyIsBounded() {
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    List<Integer> keys = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+    BatchResult<Integer, Integer> result = batch.apply(keys, key -> {
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      try {
+        Thread.sleep(2);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      inFlight.decrementAndGet();
+      return key;
+    });
+    assertEquals(keys.size(), result.getValues().size());
+    assertTrue("More calls were in flight than allowed: " + maxInFlight.get(),
+        maxInFlight.get() <= CONCURRENCY);
+    assertTrue("Calls were not made in parallel", maxInFlight.get() > 1);
+  }
+
+  @Test
+  public void testListenerSeesEveryKey() {
+    List<String> seen = Collections.synchronizedList(new ArrayList<>());
+    AtomicInteger failures = new AtomicInteger();
+    AtomicInteger last = new AtomicInteger();
+    batch.apply(Arrays.asList("a", "b", "c", "b"), key -> {
+      if ("c".equals(key)) {
+        throw new NotFoundException(key);
+      }
+      return key;
+    }, (key, failed, completed, total) -> {
+      seen.add(key);
+      if (failed) {
+        failures.incrementAndGet();
+      }
+      last.accumulateAndGet(completed, Math::max);
+      assertEquals(3, total);
+    });
+    assertEquals("Listener was not told about every distinct key", 3, seen.size());
+    assertEquals(1, failures.get());
+    assertEquals(3, last.get());
+  }
+
+}
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import javax.ws.rs.ServiceUnavailableException;
+
+import org.edgexfoundry.controller.PingMetaDataClient;
+import org.edgexfoundry.test.category.RequiresNone;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(RequiresNone.class)
+public class ClientMetricsTest {
+
+  private static final String PING = "PingMetaDataClient.ping";
+
+  @Test
+  public void testCallsAreRecordedPerMethod() {
+    ClientMetrics metrics = new ClientMetrics();
+    PingMetaDataClient client = metrics.instrument(PingMetaDataClient.class, () -> "pong");
+    client.ping();
+    client.ping();
+    CallStats.Snapshot snapshot = metrics.getMethodSnapshots().get(PING);
+    assertEquals(2, snapshot.getCalls());
+    assertEquals(0, snapshot.getErrorCount());
+    assertEquals(0, snapshot.getInFlight());
+    assertEquals(2, snapshot.getLatency().getCount());
+  }
+
+  @Test
+  public void testErrorsAreCountedByType() {
+    ClientMetrics metrics = new ClientMetrics();
+    PingMetaDataClient client = metrics.instrument(PingMetaDataClient.class, () -> {
+      throw new ServiceUnavailableException();
+    });
+    try {
+      client.ping();
+      fail("Failure was not passed on to the caller");
+    } catch (ServiceUnavailableException e) {
+      // expected
+    }
+    CallStats.Snapshot snapshot = metrics.getMethodSnapshots().get(PING);
+    assertEquals(1, snapshot.getCalls());
+    assertEquals(Long.valueOf(1),
+        snapshot.getErrors().get(ServiceUnavailableException.class.getName()));
+  }
+
+}
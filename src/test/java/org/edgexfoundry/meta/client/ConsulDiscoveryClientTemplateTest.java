@@ -0,0 +1,287 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.edgexfoundry.controller.PingMetaDataClient;
+import org.edgexfoundry.test.category.RequiresNone;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+
+@Category(RequiresNone.class)
+public class ConsulDiscoveryClientTemplateTest {
+
+  private static final String PATH = "/api/v1/ping";
+  private static final String DEFAULT_URL = "http://localhost:48081" + PATH;
+  private static final int THREADS = 16;
+  private static final int CALLS = 5000;
+
+  private static final List<ServiceInstance> FIRST = Arrays.asList(
+      instance("10.0.0.1"), instance("10.0.0.2"), instance("10.0.0.3"));
+  private static final List<ServiceInstance> SECOND = Collections.singletonList(
+      instance("10.0.0.4"));
+
+  private volatile List<ServiceInstance> discovered = FIRST;
+  private MetadataInstanceRegistry registry;
+  private ConsulDiscoveryClientTemplate template;
+  private ExecutorService executor;
+
+  @Before
+  public void setup() throws Exception {
+    registry = new MetadataInstanceRegistry();
+    setField(MetadataInstanceRegistry.class, registry, "discoveryClient",
+        new MovingDiscoveryClient());
+    // looks up discovery on every call so the moving instance list is seen by the callers
+    setField(MetadataInstanceRegistry.class, registry, "discoveryRefreshInterval", 0L);
+    template = new ConsulDiscoveryClientTemplate() {
+      @Override
+      protected String extractPath() {
+        return PATH;
+      }
+    };
+    setField(ConsulDiscoveryClientTemplate.class, template, "registry", registry);
+    executor = Executors.newFixedThreadPool(THREADS + 1);
+  }
+
+  @After
+  public void cleanup() {
+    executor.shutdownNow();
+  }
+
+  // a regression guard for the endpoint snapshot rather than a reproduction of the old race: the
+  // unsynchronised fields it replaced were written and read back within one statement, a window
+  // no test can hit reliably, so this also passes on that code
+  @Test
+  public void testConcurrentCallersSeeDiscoveredEndpoint() throws Exception {
+    Set<String> rootUrls = new HashSet<>();
+    for (ServiceInstance instance : FIRST) {
+      rootUrls.add(instance.getUri().toString());
+    }
+    rootUrls.add(SECOND.get(0).getUri().toString());
+
+    Queue<String> failures = new ConcurrentLinkedQueue<>();
+    AtomicBoolean running = new AtomicBoolean(true);
+    CountDownLatch start = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(THREADS);
+
+    // moves core-metadata between instance lists while the callers run
+    executor.execute(() -> {
+      while (running.get()) {
+        discovered = discovered == FIRST ? SECOND : FIRST;
+        Thread.yield();
+      }
+    });
+    for (int i = 0; i < THREADS; i++) {
+      executor.execute(() -> {
+        try {
+          start.await();
+          for (int call = 0; call < CALLS; call++) {
+            assertNotNull(template.getProxy(PingMetaDataClient.class, DEFAULT_URL));
+            ConsulDiscoveryClientTemplate.Endpoint endpoint = template.getEndpoint();
+            if (!rootUrls.contains(endpoint.rootUrl) || !PATH.equals(endpoint.path)) {
+              failures.add(endpoint.rootUrl + endpoint.path);
+            }
+            String rootUrl = template.getRootUrl();
+            if (!rootUrls.contains(rootUrl)) {
+              failures.add(rootUrl);
+            }
+          }
+        } catch (Throwable e) {
+          failures.add(e.toString());
+        } finally {
+          done.countDown();
+        }
+      });
+    }
+    start.countDown();
+    assertTrue("Callers did not finish in time", done.await(2, TimeUnit.MINUTES));
+    running.set(false);
+
+    assertTrue("Inconsistent endpoints observed: " + failures, failures.isEmpty());
+    assertEquals("Path was not resolved", PATH, template.getPath());
+    for (MetadataInstance instance : registry.getInstances()) {
+      assertEquals("Calls left in flight", 0, instance.getInFlight());
+    }
+  }
+
+  @Test
+  public void testVanishedInstancesEvicted() throws Exception {
+    for (int call = 0; call < FIRST.size(); call++) {
+      template.getProxy(PingMetaDataClient.class, DEFAULT_URL);
+    }
+    assertEquals(FIRST.size(), proxies().size());
+    discovered = SECOND;
+    template.getProxy(PingMetaDataClient.class, DEFAULT_URL);
+    assertEquals("Proxies of vanished instances kept", 1, proxies().size());
+    Map<?, ?> instances = (Map<?, ?>) getField(MetadataInstanceRegistry.class, registry,
+        "instances");
+    assertEquals("Vanished instances kept", Collections.singleton(SECOND.get(0).getUri()
+        .toString()), instances.keySet());
+  }
+
+  @Test
+  public void testRootUrlDoesNotMoveSelection() {
+    discovered = FIRST.subList(0, 2);
+    MetadataInstance first = registry.select();
+    assertNotNull(template.getRootUrl());
+    assertNotNull(template.getRootUrl());
+    assertTrue("Root url lookup took a turn", first != registry.select());
+  }
+
+  @Test
+  public void testTrackingAndPlainProxiesKeptApart() throws Exception {
+    discovered = Collections.emptyList();
+    Object plain = template.getProxy(PingMetaDataClient.class, DEFAULT_URL);
+    assertFalse(Proxy.getInvocationHandler(plain) instanceof InstanceTrackingHandler);
+    // discovers the configured url itself
+    discovered = Collections.singletonList(instance("localhost"));
+    Object tracking = template.getProxy(PingMetaDataClient.class, DEFAULT_URL);
+    assertTrue("Plain proxy handed out for a discovered instance",
+        Proxy.getInvocationHandler(tracking) instanceof InstanceTrackingHandler);
+  }
+
+  @Test
+  public void testWriteBehindAfterCloseSendsRightAway() throws Exception {
+    setField(ConsulDiscoveryClientTemplate.class, template, "writeBehindEnabled", true);
+    List<Long> sent = new ArrayList<>();
+    assertTrue(template.writeBehind(sent::add, 1, false, "device1"));
+    assertTrue("Update not queued", sent.isEmpty());
+    invoke(ConsulDiscoveryClientTemplate.class, template, "closeClient");
+    assertEquals("Queued update not flushed on close", Collections.singletonList(1L), sent);
+    assertTrue(template.writeBehind(sent::add, 2, false, "device1"));
+    assertEquals("Update after close not sent", Arrays.asList(1L, 2L), sent);
+    assertNull("Write-behind recreated after close",
+        getField(ConsulDiscoveryClientTemplate.class, template, "writeBehind"));
+  }
+
+  @Test
+  public void testDiscoveryWithoutRegistryBean() throws Exception {
+    ConsulDiscoveryClientTemplate unscanned = new ConsulDiscoveryClientTemplate() {
+      @Override
+      protected String extractPath() {
+        return PATH;
+      }
+    };
+    setField(ConsulDiscoveryClientTemplate.class, unscanned, "discoveryClient",
+        new MovingDiscoveryClient());
+    try {
+      MetadataInstance instance = unscanned.getRegistry().select();
+      assertNotNull("Nothing discovered without the registry bean", instance);
+      assertEquals(FIRST.get(0).getUri().toString(), instance.getRootUrl());
+      assertTrue("Registry not reused", unscanned.getRegistry() == unscanned.getRegistry());
+    } finally {
+      invoke(ConsulDiscoveryClientTemplate.class, unscanned, "closeClient");
+    }
+  }
+
+  @Test
+  public void testCachedDiscoveryResultKeptByRefresh() throws Exception {
+    MetadataInstanceRegistry cached = new MetadataInstanceRegistry(new MovingDiscoveryClient());
+    setField(MetadataInstanceRegistry.class, cached, "cacheDiscoveryResult", true);
+    cached.init();
+    try {
+      assertEquals(FIRST.size(), cached.getInstances().size());
+      discovered = SECOND;
+      invoke(MetadataInstanceRegistry.class, cached, "refreshDiscoveredInstances");
+      assertEquals("Cached discovery result replaced", FIRST.size(),
+          cached.getInstances().size());
+    } finally {
+      cached.shutdown();
+    }
+  }
+
+  private static ServiceInstance instance(String host) {
+    return new DefaultServiceInstance(ConsulDiscoveryClientTemplate.APP_ID, host, 48081, false);
+  }
+
+  private static void setField(Class<?> type, Object target, String name, Object value)
+      throws Exception {
+    Field field = type.getDeclaredField(name);
+    field.setAccessible(true);
+    field.set(target, value);
+  }
+
+  private Map<?, ?> proxies() throws Exception {
+    return (Map<?, ?>) getField(ConsulDiscoveryClientTemplate.class, template, "proxies");
+  }
+
+  private static Object getField(Class<?> type, Object target, String name) throws Exception {
+    Field field = type.getDeclaredField(name);
+    field.setAccessible(true);
+    return field.get(target);
+  }
+
+  private static void invoke(Class<?> type, Object target, String name) throws Exception {
+    Method method = type.getDeclaredMethod(name);
+    method.setAccessible(true);
+    method.invoke(target);
+  }
+
+  private class MovingDiscoveryClient implements DiscoveryClient {
+
+    @Override
+    public String description() {
+      return "moving discovery client";
+    }
+
+    @Override
+    public ServiceInstance getLocalServiceInstance() {
+      return null;
+    }
+
+    @Override
+    public List<ServiceInstance> getInstances(String serviceId) {
+      return new ArrayList<>(discovered);
+    }
+
+    @Override
+    public List<String> getServices() {
+      return Collections.singletonList(ConsulDiscoveryClientTemplate.APP_ID);
+    }
+  }
+
+}
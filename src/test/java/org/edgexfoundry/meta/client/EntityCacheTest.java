@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.NotFoundException;
+
+import org.edgexfoundry.domain.meta.Device;
+import org.edgexfoundry.test.category.RequiresNone;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(RequiresNone.class)
+public class EntityCacheTest {
+
+  private static final int MAX_SIZE = 2;
+  private static final long TTL = 60000;
+
+  private EntityCache<Device> cache;
+
+  @Before
+  public void setup() {
+    cache = new EntityCache<>(Device::getId, Device::getName, MAX_SIZE, TTL);
+  }
+
+  @Test
+  public void testGetByIdServesName() {
+    Device device = device("1", "thermostat");
+    cache.put(device);
+    assertSame("Device not served by id", device, cache.getById("1"));
+    assertSame("Device not served by name", device, cache.getByName("thermostat"));
+  }
+
+  @Test
+  public void testLeastRecentlyUsedEvicted() {
+    cache.put(device("1", "a"));
+    cache.put(device("2", "b"));
+    cache.getById("1");
+    cache.put(device("3", "c"));
+    assertEquals("Cache exceeded its bound", MAX_SIZE, cache.size());
+    assertNull("Least recently used device not evicted", cache.getById("2"));
+    assertNull("Name of evicted device still indexed", cache.getByName("b"));
+    assertEquals("Recently used device evicted", "a", cache.getById("1").getName());
+  }
+
+  @Test
+  public void testRenameDropsOldName() {
+    cache.put(device("1", "old"));
+    cache.put(device("1", "new"));
+    assertNull("Old name still served", cache.getByName("old"));
+    assertEquals("New name not served", "1", cache.getByName("new").getId());
+  }
+
+  @Test
+  public void testInvalidateByName() {
+    cache.put(device("1", "a"));
+    cache.invalidateName("a");
+    assertNull("Device still served by id", cache.getById("1"));
+  }
+
+  @Test
+  public void testExpiredEntriesNotServed() {
+    cache = new EntityCache<>(Device::getId, Device::getName, MAX_SIZE, 0);
+    cache.put(device("1", "a"));
+    assertNull("Expired device served", cache.getById("1"));
+    assertEquals("Expired device kept", 0, cache.size());
+  }
+
+  @Test
+  public void testMissingNameRemembered() {
+    AtomicInteger lookups = new AtomicInteger();
+    for (int i = 0; i < 3; i++) {
+      try {
+        cache.getByName("missing", name -> {
+          lookups.incrementAndGet();
+          throw new NotFoundException();
+        });
+        fail("Missing name did not throw NotFoundException");
+      } catch (NotFoundException e) {
+        // expected
+      }
+    }
+    assertEquals("Missing name looked up more than once", 1, lookups.get());
+    cache.invalidate(device(null, "missing"));
+    assertEquals("Added name not looked up", "1",
+        cache.getByName("missing", name -> device("1", name)).getId());
+  }
+
+  private static Device device(String id, String name) {
+    Device device = new Device();
+    device.setId(id);
+    device.setName(name);
+    return device;
+  }
+
+}
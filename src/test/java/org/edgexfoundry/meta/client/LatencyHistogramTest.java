@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.edgexfoundry.test.category.RequiresNone;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(RequiresNone.class)
+public class LatencyHistogramTest {
+
+  @Test
+  public void testBucketsCoverEveryValue() {
+    for (long value : new long[] {0, 1, 15, 16, 17, 31, 32, 1000, 123456789, Long.MAX_VALUE}) {
+      int index = LatencyHistogram.indexOf(value);
+      assertTrue("Value " + value + " is above its bucket",
+          value <= LatencyHistogram.highestValueOf(index));
+      assertTrue("Value " + value + " is below its bucket",
+          index == 0 || value > LatencyHistogram.highestValueOf(index - 1));
+    }
+  }
+
+  @Test
+  public void testPercentilesAreWithinBucketPrecision() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long value = 1; value <= 10000; value++) {
+      histogram.record(value * 1000);
+    }
+    LatencyHistogram.Snapshot snapshot = histogram.getSnapshot();
+    assertEquals(10000, snapshot.getCount());
+    assertEquals(10000000, snapshot.getMax());
+    assertEquals(5000500, snapshot.getMean(), 1);
+    assertWithin(5000000, snapshot.getValueAtPercentile(50));
+    assertWithin(9900000, snapshot.getValueAtPercentile(99));
+    assertEquals(10000000, snapshot.getValueAtPercentile(100));
+  }
+
+  @Test
+  public void testEmptyHistogram() {
+    LatencyHistogram.Snapshot snapshot = new LatencyHistogram().getSnapshot();
+    assertEquals(0, snapshot.getCount());
+    assertEquals(0, snapshot.getValueAtPercentile(99));
+  }
+
+  private void assertWithin(long expected, long actual) {
+    assertTrue("Expected about " + expected + " but was " + actual,
+        Math.abs(actual - expected) <= expected / 16);
+  }
+
+}
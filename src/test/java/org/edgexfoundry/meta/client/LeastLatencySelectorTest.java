@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.edgexfoundry.test.category.RequiresNone;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(RequiresNone.class)
+public class LeastLatencySelectorTest {
+
+  private static final long MILLI = 1000000L;
+
+  private LeastLatencySelector selector = new LeastLatencySelector();
+
+  @Test
+  public void testFastestInstanceSelected() {
+    MetadataInstance fast = instance("fast", 10 * MILLI, System.nanoTime());
+    MetadataInstance slow = instance("slow", 50 * MILLI, System.nanoTime());
+    List<MetadataInstance> candidates = Arrays.asList(fast, slow);
+    for (int i = 0; i < 4; i++) {
+      assertSame("Slower instance selected", fast, selector.select(candidates));
+    }
+  }
+
+  @Test
+  public void testIdleInstanceDecaysBackIntoSelection() {
+    long now = System.nanoTime();
+    long idle = 4 * MetadataInstance.LATENCY_HALF_LIFE_NANOS;
+    // fast has kept answering and has two calls queued; a slow instance that answered just now
+    // still loses to it, one passed over since long ago has decayed toward the mean and wins
+    MetadataInstance fast = instance("fast", 10 * MILLI, now);
+    fast.callStarted();
+    fast.callStarted();
+    MetadataInstance recent = instance("recent", 50 * MILLI, now);
+    assertSame("Slow instance picked over a lightly loaded fast one", fast,
+        selector.select(Arrays.asList(fast, recent)));
+    MetadataInstance idleSlow = instance("idle", 50 * MILLI, now - idle);
+    assertSame("Idle instance still starved", idleSlow,
+        selector.select(Arrays.asList(fast, idleSlow)));
+  }
+
+  @Test
+  public void testLatencyDecaysTowardTheMean() {
+    long now = System.nanoTime();
+    MetadataInstance instance = instance("a", 40 * MILLI, now);
+    // half the distance to the mean is left after one half-life
+    assertEquals(25 * MILLI, instance.getLatencyEwma(
+        now + MetadataInstance.LATENCY_HALF_LIFE_NANOS, 10 * MILLI), MILLI / 100.0);
+  }
+
+  @Test
+  public void testUnsampledInstanceWithCallsInFlightLoses() {
+    MetadataInstance sampled = instance("sampled", 10 * MILLI, System.nanoTime());
+    // a node that has not answered yet, with many calls hanging on it
+    MetadataInstance hung = new MetadataInstance("http://hung:48081");
+    for (int i = 0; i < 100; i++) {
+      hung.callStarted();
+    }
+    List<MetadataInstance> candidates = Arrays.asList(hung, sampled);
+    for (int i = 0; i < 4; i++) {
+      assertSame("Hung instance selected", sampled, selector.select(candidates));
+    }
+  }
+
+  @Test
+  public void testUnsampledInstanceTriedWhenIdle() {
+    MetadataInstance sampled = instance("sampled", 10 * MILLI, System.nanoTime());
+    MetadataInstance fresh = new MetadataInstance("http://fresh:48081");
+    // scored at the mean, it ties with the other instance and is picked on its turn
+    List<MetadataInstance> candidates = Arrays.asList(sampled, fresh);
+    Set<MetadataInstance> picked = new HashSet<>();
+    picked.add(selector.select(candidates));
+    picked.add(selector.select(candidates));
+    assertTrue("New instance never tried", picked.contains(fresh));
+  }
+
+  @Test
+  public void testFailuresArePenaltySamples() {
+    long now = System.nanoTime();
+    MetadataInstance instance = instance("a", 40 * MILLI, now);
+    instance.callStarted();
+    instance.callFinished(MILLI, true, now);
+    assertEquals("Fast failure not counted as slow call", 40 * MILLI
+        + MetadataInstance.LATENCY_EWMA_ALPHA * (MetadataInstance.FAILURE_PENALTY_NANOS
+            - 40 * MILLI), instance.getLatencyEwma(), MILLI / 100.0);
+    assertEquals(0, instance.getInFlight());
+  }
+
+  private MetadataInstance instance(String name, long latencyNanos, long at) {
+    MetadataInstance instance = new MetadataInstance("http://" + name + ":48081");
+    instance.callStarted();
+    instance.callFinished(latencyNanos, false, at);
+    return instance;
+  }
+
+}
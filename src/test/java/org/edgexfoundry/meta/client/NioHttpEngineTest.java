@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.ProcessingException;
+
+import org.apache.http.concurrent.FutureCallback;
+import org.edgexfoundry.test.category.RequiresNone;
+import org.edgexfoundry.test.stub.StubMetadataServer;
+import org.jboss.resteasy.client.jaxrs.ResteasyClient;
+import org.jboss.resteasy.client.jaxrs.ResteasyClientBuilder;
+import org.jboss.resteasy.client.jaxrs.internal.ClientInvocation;
+import org.jboss.resteasy.client.jaxrs.internal.ClientResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(RequiresNone.class)
+public class NioHttpEngineTest {
+
+  private static final long REQUEST_TIMEOUT = 300;
+
+  private StubMetadataServer server;
+  private ResteasyClient client;
+  private NioHttpEngine engine;
+
+  @Before
+  public void setup() throws Exception {
+    server = new StubMetadataServer();
+    server.start();
+    engine = new NioHttpEngine(4, 4, REQUEST_TIMEOUT);
+    client = new ResteasyClientBuilder().httpEngine(engine).build();
+  }
+
+  @After
+  public void cleanup() {
+    client.close();
+    server.stop();
+  }
+
+  @Test
+  public void testSlowResponseTimesOut() {
+    server.setLatency(5000, 0);
+    long start = System.nanoTime();
+    try {
+      client.target(server.getUrl(StubMetadataServer.BASE_PATH + "device")).request().get();
+      fail("Request outlived the request timeout");
+    } catch (ProcessingException e) {
+      long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      assertTrue("Caller waited " + elapsed + "ms", elapsed < 5 * REQUEST_TIMEOUT);
+    }
+  }
+
+  @Test
+  public void testSubmitCompletesCallback() throws Exception {
+    ClientInvocation request = (ClientInvocation) client
+        .target(server.getUrl(StubMetadataServer.BASE_PATH + "device")).request().buildGet();
+    CompletableFuture<ClientResponse> result = new CompletableFuture<>();
+    engine.submit(request, new FutureCallback<ClientResponse>() {
+      @Override
+      public void completed(ClientResponse response) {
+        result.complete(response);
+      }
+
+      @Override
+      public void failed(Exception e) {
+        result.completeExceptionally(e);
+      }
+
+      @Override
+      public void cancelled() {
+        result.cancel(false);
+      }
+    });
+    ClientResponse response = result.get(10, TimeUnit.SECONDS);
+    assertEquals(200, response.getStatus());
+    assertEquals("[]", response.readEntity(String.class).trim());
+  }
+
+}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import org.edgexfoundry.domain.meta.Addressable;
+import org.edgexfoundry.domain.meta.Device;
+import org.edgexfoundry.domain.meta.DeviceProfile;
+import org.edgexfoundry.domain.meta.DeviceService;
+import org.edgexfoundry.test.category.RequiresNone;
+import org.edgexfoundry.test.data.AddressableData;
+import org.edgexfoundry.test.data.CommandData;
+import org.edgexfoundry.test.data.DeviceData;
+import org.edgexfoundry.test.data.ProfileData;
+import org.edgexfoundry.test.data.ProvisionWatcherData;
+import org.edgexfoundry.test.data.ReportData;
+import org.edgexfoundry.test.data.ScheduleData;
+import org.edgexfoundry.test.data.ScheduleEventData;
+import org.edgexfoundry.test.data.ServiceData;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(RequiresNone.class)
+public class ObjectMapperResolverTest {
+
+  @Test
+  public void testEveryTypeSharesTheMapper() {
+    ObjectMapperResolver resolver = new ObjectMapperResolver();
+    assertSame(ObjectMapperResolver.mapper(), resolver.getContext(Device.class));
+    assertSame(ObjectMapperResolver.mapper(), resolver.getContext(List.class));
+  }
+
+  @Test
+  public void testDeviceListRoundTrip() throws IOException {
+    Device first = DeviceData.newTestInstance();
+    first.setId("device-1");
+    Device second = DeviceData.newTestInstance();
+    second.setId("device-2");
+    byte[] json = ObjectMapperResolver.mapper().writeValueAsBytes(Arrays.asList(first, second));
+    List<Device> devices =
+        ObjectMapperResolver.mapper().readValue(json, new TypeReference<List<Device>>() {});
+    assertEquals(2, devices.size());
+    assertEquals("device-2", devices.get(1).getId());
+    assertEquals(DeviceData.TEST_NAME, devices.get(0).getName());
+  }
+
+  @Test
+  public void testUnknownFieldsAreIgnored() throws IOException {
+    ObjectNode node = ObjectMapperResolver.mapper().valueToTree(DeviceData.newTestInstance());
+    node.put("addedByANewerServer", true);
+    Device device = ObjectMapperResolver.mapper().treeToValue(node, Device.class);
+    assertEquals(DeviceData.TEST_NAME, device.getName());
+  }
+
+  // core-metadata was written against the Jackson 1 output, so every body the clients send must
+  // read back the same as before the move to Jackson 2
+  @Test
+  public void testWritePayloadsMatchJackson1() throws IOException {
+    org.codehaus.jackson.map.ObjectMapper jackson1 = new org.codehaus.jackson.map.ObjectMapper();
+    Addressable addressable = AddressableData.newTestInstance();
+    addressable.setId("addressable-1");
+    DeviceProfile profile = ProfileData.newTestInstance();
+    profile.setId("profile-1");
+    profile.setCommands(Arrays.asList(CommandData.newTestInstance()));
+    DeviceService service = ServiceData.newTestInstance();
+    service.setId("service-1");
+    service.setAddressable(addressable);
+    Device device = DeviceData.newTestInstance();
+    device.setId("device-1");
+    device.setAddressable(addressable);
+    device.setProfile(profile);
+    device.setService(service);
+    for (Object payload : Arrays.asList(addressable, profile, service, device,
+        CommandData.newTestInstance(), ProvisionWatcherData.newTestInstance(),
+        ReportData.newTestInstance(), ScheduleData.newTestInstance(),
+        ScheduleEventData.newTestInstance())) {
+      assertEquals(payload.getClass().getSimpleName() + " body differs from Jackson 1",
+          ObjectMapperResolver.mapper().readTree(jackson1.writeValueAsBytes(payload)),
+          ObjectMapperResolver.mapper().readTree(
+              ObjectMapperResolver.mapper().writeValueAsBytes(payload)));
+    }
+  }
+
+}
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.edgexfoundry.test.category.RequiresNone;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(RequiresNone.class)
+public class OutlierDetectorTest {
+
+  @Test
+  public void testStreakEjectsOnFifthFailure() {
+    OutlierDetector detector = new OutlierDetector();
+    MetadataInstance instance = new MetadataInstance("http://a:48081");
+    for (int i = 0; i < OutlierDetector.DEFAULT_CONSECUTIVE_FAILURES - 1; i++) {
+      detector.callFailed(instance);
+    }
+    assertFalse("Ejected before the fifth failure", instance.isEjected());
+    detector.callFailed(instance);
+    assertTrue("Not ejected after five failures", instance.isEjected());
+  }
+
+  @Test
+  public void testErrorRateAloneEjectsInterleavedFailures() {
+    // a consecutive count that is never reached leaves the error rate as the only trigger
+    OutlierDetector detector = new OutlierDetector(Integer.MAX_VALUE,
+        OutlierDetector.DEFAULT_MAX_ERROR_RATE, OutlierDetector.DEFAULT_EJECTION_TIME);
+    MetadataInstance instance = new MetadataInstance("http://a:48081");
+    for (int i = 0; i < 50 && !instance.isEjected(); i++) {
+      detector.callFailed(instance);
+      detector.callSucceeded(instance);
+    }
+    assertTrue("Instance failing every other call not ejected", instance.isEjected());
+  }
+
+  @Test
+  public void testOccasionalFailuresTolerated() {
+    OutlierDetector detector = new OutlierDetector();
+    MetadataInstance instance = new MetadataInstance("http://a:48081");
+    for (int i = 0; i < 200; i++) {
+      if (i % 4 == 3) {
+        detector.callFailed(instance);
+      } else {
+        detector.callSucceeded(instance);
+      }
+    }
+    assertFalse("Instance failing one call in four ejected", instance.isEjected());
+  }
+
+}
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.NotFoundException;
+
+import org.edgexfoundry.test.category.RequiresNone;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(RequiresNone.class)
+public class SingleFlightTest {
+
+  private static final int CALLERS = 8;
+
+  private SingleFlight singleFlight;
+  private ExecutorService executor;
+
+  @Before
+  public void setup() {
+    singleFlight = new SingleFlight();
+    executor = Executors.newFixedThreadPool(CALLERS);
+  }
+
+  @After
+  public void cleanup() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testConcurrentCallsShareOneCall() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    List<Future<String>> results = new ArrayList<>();
+    for (int i = 0; i < CALLERS; i++) {
+      results.add(executor.submit(() -> singleFlight.execute("profile", () -> {
+        calls.incrementAndGet();
+        await(release);
+        return "result";
+      })));
+    }
+    // give every caller time to join the running call before it completes
+    Thread.sleep(200);
+    release.countDown();
+    for (Future<String> result : results) {
+      assertEquals("Caller did not get the shared result", "result",
+          result.get(10, TimeUnit.SECONDS));
+    }
+    assertEquals("Concurrent identical calls were not coalesced", 1, calls.get());
+  }
+
+  @Test
+  public void testLaterCallsAreNotCached() {
+    AtomicInteger calls = new AtomicInteger();
+    singleFlight.execute("profile", calls::incrementAndGet);
+    singleFlight.execute("profile", calls::incrementAndGet);
+    assertEquals("Completed call was reused", 2, calls.get());
+  }
+
+  @Test(expected = NotFoundException.class)
+  public void testExceptionPropagated() {
+    singleFlight.execute("profile", () -> {
+      throw new NotFoundException();
+    });
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      assertTrue("Call was never released", latch.await(10, TimeUnit.SECONDS));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.meta.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.ServerErrorException;
+
+import org.edgexfoundry.test.category.RequiresNone;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(RequiresNone.class)
+public class TimestampWriteBehindTest {
+
+  // long enough that only the explicit flushes below run during a test
+  private static final long FLUSH_INTERVAL = 60000;
+
+  private TimestampWriteBehind writeBehind;
+  private Map<String, Long> sent;
+  private AtomicInteger sends;
+
+  @Before
+  public void setup() {
+    writeBehind = new TimestampWriteBehind(FLUSH_INTERVAL, 2);
+    sent = new ConcurrentHashMap<>();
+    sends = new AtomicInteger();
+  }
+
+  @After
+  public void cleanup() {
+    writeBehind.close();
+  }
+
+  @Test
+  public void testOnlyNewestTimestampSent() {
+    for (long time = 1; time <= 1000; time++) {
+      submit("device1", time);
+      submit("device2", 1000 - time);
+    }
+    submit("device1", 10);
+    writeBehind.flush();
+    assertEquals("Updates were not coalesced per key", 2, sends.get());
+    assertEquals("Newest timestamp not sent", Long.valueOf(1000), sent.get("device1"));
+    assertEquals("Newest timestamp not sent", Long.valueOf(999), sent.get("device2"));
+    assertEquals("Updates left queued", 0, writeBehind.getPendingCount());
+  }
+
+  @Test
+  public void testUnreachableUpdateRetried() {
+    writeBehind.submit("device1", 5, time -> {
+      throw new ProcessingException("connection refused");
+    });
+    writeBehind.flush();
+    assertEquals("Failed update not kept for retry", 1, writeBehind.getPendingCount());
+    submit("device1", 6);
+    writeBehind.flush();
+    assertEquals("Newer timestamp not sent", Long.valueOf(6), sent.get("device1"));
+  }
+
+  @Test
+  public void testServerErrorRetriesCapped() {
+    writeBehind.submit("device1", 5, time -> {
+      sends.incrementAndGet();
+      throw new ServerErrorException(500);
+    });
+    for (int i = 0; i < TimestampWriteBehind.MAX_SERVER_ERROR_RETRIES + 3; i++) {
+      writeBehind.flush();
+    }
+    assertEquals("Server error not retried the expected number of times",
+        TimestampWriteBehind.MAX_SERVER_ERROR_RETRIES + 1, sends.get());
+    assertEquals("Rejected update still queued", 0, writeBehind.getPendingCount());
+  }
+
+  @Test
+  public void testNotificationKeptForNewerUpdate() {
+    writeBehind.submit("device1", 5, true, time -> {
+      sent.put("notified", time);
+      return true;
+    });
+    writeBehind.submit("device1", 6, false, time -> {
+      sent.put("plain", time);
+      return true;
+    });
+    assertEquals("Notifying and plain updates not coalesced", 1, writeBehind.getPendingCount());
+    writeBehind.flush();
+    assertEquals("Newest timestamp not sent with the notification", Long.valueOf(6),
+        sent.get("notified"));
+    assertNull("Plain update sent besides the notifying one", sent.get("plain"));
+  }
+
+  @Test
+  public void testCloseLetsRunningFlushFinish() throws Exception {
+    TimestampWriteBehind periodic = new TimestampWriteBehind(10, 1);
+    CountDownLatch writing = new CountDownLatch(1);
+    periodic.submit("device1", 5, time -> {
+      writing.countDown();
+      try {
+        Thread.sleep(300);
+        sent.put("device1", time);
+      } catch (InterruptedException e) {
+        sent.put("interrupted", time);
+      }
+      return true;
+    });
+    assertTrue("Flush did not start", writing.await(10, TimeUnit.SECONDS));
+    periodic.close();
+    assertNull("Running update interrupted by close", sent.get("interrupted"));
+    assertEquals("Running update lost on close", Long.valueOf(5), sent.get("device1"));
+  }
+
+  @Test
+  public void testSubmitAfterCloseSentRightAway() {
+    writeBehind.close();
+    assertFalse("Writer result not returned", writeBehind.submit("device1", 5, time -> {
+      sent.put("device1", time);
+      return false;
+    }));
+    assertEquals("Update after close not sent", Long.valueOf(5), sent.get("device1"));
+    assertEquals("Update after close queued", 0, writeBehind.getPendingCount());
+  }
+
+  private void submit(String key, long time) {
+    writeBehind.submit(key, time, value -> {
+      sends.incrementAndGet();
+      sent.put(key, value);
+      return true;
+    });
+  }
+
+}
@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.test.stub;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.edgexfoundry.test.stub.StubMetadataStore.Reply;
+
+/**
+ * In-process HTTP server standing in for core-metadata. Serves the /api/v1 device, deviceservice,
+ * deviceprofile, addressable, command, schedule, scheduleevent (also as event), provisionwatcher,
+ * devicereport and ping endpoints from memory, so client tests and benchmarks need neither
+ * MongoDB nor a running core-metadata. Latency and failures can be injected, and single paths can
+ * be answered with a fixed response.
+ */
+public class StubMetadataServer {
+
+  public static final String BASE_PATH = "/api/v1/";
+
+  private final ConcurrentMap<String, Reply> responses = new ConcurrentHashMap<>();
+  private final StubMetadataStore store = new StubMetadataStore();
+  private final int port;
+  private HttpServer server;
+  private ExecutorService executor;
+  private volatile long latency;
+  private volatile long latencyJitter;
+  private volatile double errorRate;
+  private volatile int errorStatus = 503;
+
+  public StubMetadataServer() {
+    // picks a free port on start
+    this(0);
+  }
+
+  public StubMetadataServer(int port) {
+    this.port = port;
+  }
+
+  public synchronized void start() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+    executor = Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "stub-metadata");
+      thread.setDaemon(true);
+      return thread;
+    });
+    server.setExecutor(executor);
+    server.createContext("/", this::handle);
+    server.start();
+  }
+
+  public synchronized void stop() {
+    if (server != null) {
+      server.stop(0);
+      executor.shutdownNow();
+      server = null;
+    }
+  }
+
+  /**
+   * Returns the URL of a path on this server, such as /api/v1/device.
+   */
+  public String getUrl(String path) {
+    return "http://localhost:" + server.getAddress().getPort() + path;
+  }
+
+  /**
+   * Points a client implementation, such as a new DeviceClientImpl, at a resource of this server
+   * and returns it. The impls otherwise take their URL from Spring configuration.
+   */
+  public <T> T connect(T client, String resource) {
+    try {
+      Field field = client.getClass().getDeclaredField("url");
+      field.setAccessible(true);
+      field.set(client, getUrl(BASE_PATH + resource));
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalArgumentException("Cannot set the URL of " + client.getClass(), e);
+    }
+    return client;
+  }
+
+  /**
+   * Answers the given method and path with a fixed response instead of the stored objects.
+   */
+  public void respond(String method, String path, int status, String body) {
+    responses.put(method + " " + path, new Reply(status, body, StubMetadataStore.JSON));
+  }
+
+  /**
+   * Delays every response by latency milliseconds plus a random share of jitter milliseconds.
+   */
+  public void setLatency(long latency, long jitter) {
+    this.latency = latency;
+    this.latencyJitter = jitter;
+  }
+
+  /**
+   * Fails the given share (0 to 1) of all requests with the given HTTP status.
+   */
+  public void setErrorRate(double errorRate, int status) {
+    this.errorRate = errorRate;
+    this.errorStatus = status;
+  }
+
+  /**
+   * Removes all stored objects, fixed responses and injected latency and failures.
+   */
+  public void reset() {
+    store.clear();
+    responses.clear();
+    setLatency(0, 0);
+    setErrorRate(0, 503);
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try {
+      String body = read(exchange.getRequestBody());
+      String method = exchange.getRequestMethod();
+      String path = exchange.getRequestURI().getRawPath();
+      delay();
+      Reply reply = responses.get(method + " " + path);
+      if (reply == null) {
+        reply = ThreadLocalRandom.current().nextDouble() < errorRate
+            ? new Reply(errorStatus, "", StubMetadataStore.TEXT) : route(method, path, body);
+      }
+      send(exchange, reply);
+    } catch (RuntimeException e) {
+      send(exchange, new Reply(500, String.valueOf(e), StubMetadataStore.TEXT));
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private Reply route(String method, String path, String body) throws IOException {
+    if (!path.startsWith(BASE_PATH)) {
+      return Reply.notFound();
+    }
+    List<String> segments = new ArrayList<>();
+    for (String segment : path.substring(BASE_PATH.length()).split("/")) {
+      if (!segment.isEmpty()) {
+        segments.add(URLDecoder.decode(segment.replace("+", "%2B"), "UTF-8"));
+      }
+    }
+    if (segments.isEmpty()) {
+      return Reply.notFound();
+    }
+    String resource = "event".equals(segments.get(0)) ? "scheduleevent" : segments.get(0);
+    if ("ping".equals(resource) && "GET".equals(method)) {
+      return new Reply(200, "pong", StubMetadataStore.TEXT);
+    }
+    if (!store.isResource(resource)) {
+      return Reply.notFound();
+    }
+    return store.handle(resource, method, segments.subList(1, segments.size()), body);
+  }
+
+  private void delay() {
+    long millis = latency;
+    if (latencyJitter > 0) {
+      millis += ThreadLocalRandom.current().nextLong(latencyJitter + 1);
+    }
+    if (millis > 0) {
+      try {
+        Thread.sleep(millis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static String read(InputStream in) throws IOException {
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    byte[] buffer = new byte[8192];
+    for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+      body.write(buffer, 0, read);
+    }
+    return new String(body.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  private static void send(HttpExchange exchange, Reply reply) throws IOException {
+    byte[] bytes = reply.body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", reply.contentType);
+    exchange.sendResponseHeaders(reply.status, bytes.length == 0 ? -1 : bytes.length);
+    if (bytes.length > 0) {
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(bytes);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.test.stub;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import javax.ws.rs.ServiceUnavailableException;
+
+import org.edgexfoundry.controller.PingMetaDataClient;
+import org.edgexfoundry.controller.impl.PingMetaDataClientImpl;
+import org.edgexfoundry.test.category.RequiresNone;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(RequiresNone.class)
+public class StubMetadataServerTest {
+
+  private StubMetadataServer server;
+  private PingMetaDataClient client;
+
+  @Before
+  public void setup() throws Exception {
+    server = new StubMetadataServer();
+    server.start();
+    client = server.connect(new PingMetaDataClientImpl(), "ping");
+  }
+
+  @After
+  public void cleanup() {
+    server.stop();
+  }
+
+  @Test
+  public void testPing() {
+    assertEquals("pong", client.ping());
+  }
+
+  @Test(expected = ServiceUnavailableException.class)
+  public void testErrorInjection() {
+    server.setErrorRate(1, 503);
+    client.ping();
+  }
+
+  @Test
+  public void testLatencyInjection() {
+    server.setLatency(100, 0);
+    long start = System.nanoTime();
+    client.ping();
+    assertTrue("Response was not delayed", System.nanoTime() - start >= 100_000_000L);
+  }
+
+  @Test
+  public void testResetRemovesInjectedFailures() {
+    server.setErrorRate(1, 503);
+    server.reset();
+    assertEquals("pong", client.ping());
+  }
+
+}
@@ -0,0 +1,572 @@
+/*******************************************************************************
+ * Copyright 2016-2017 Dell Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * @microservice: core-metadata-client
+ * @author: Jim White, Dell
+ * @version: 1.0.0
+ *******************************************************************************/
+
+package org.edgexfoundry.test.stub;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * In-memory model behind StubMetadataServer: a collection of JSON objects per core-metadata
+ * resource, the reference rules core-metadata enforces between them and the REST routes of every
+ * resource. Referenced objects are stored by id and name and expanded to their current state on
+ * every read, as core-metadata does.
+ */
+class StubMetadataStore {
+
+  static final String JSON = "application/json";
+  static final String TEXT = "text/plain";
+
+  private static final Map<String, String> FIELD_UPDATES = new HashMap<>();
+
+  static {
+    FIELD_UPDATES.put("lastconnected", "lastConnected");
+    FIELD_UPDATES.put("lastreported", "lastReported");
+    FIELD_UPDATES.put("opstate", "operatingState");
+    FIELD_UPDATES.put("adminstate", "adminState");
+  }
+
+  private final ObjectMapper mapper = new ObjectMapper();
+  private final AtomicLong ids = new AtomicLong();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<String, Resource> resources = new HashMap<>();
+  private final List<Reference> references = new ArrayList<>();
+
+  StubMetadataStore() {
+    resource("addressable").query("address", equal("address")).query("port", equal("port"))
+        .query("topic", equal("topic")).query("publisher", equal("publisher"));
+    resource("command").namesShared = true;
+    resource("schedule");
+    resource("deviceprofile")
+        .query("manufacturer",
+            (node, args) -> args.size() == 3 && "model".equals(args.get(1))
+                ? text(node, "manufacturer").equals(args.get(0))
+                    || text(node, "model").equals(args.get(2))
+                : text(node, "manufacturer").equals(join(args)))
+        .query("model", equal("model")).query("label", contains("labels"));
+    resource("deviceservice").withFieldUpdates().query("label", contains("labels"))
+        .link("addressable", "addressable", "id", "addressable")
+        .link("addressablename", "addressable", "name", "addressable")
+        .view("deviceaddressables", args -> deviceAddressables("id", join(args)))
+        .view("deviceaddressablesbyname", args -> deviceAddressables("name", join(args)));
+    resource("device").withFieldUpdates().query("label", contains("labels"))
+        .link("service", "service", "id", "deviceservice")
+        .link("servicename", "service", "name", "deviceservice")
+        .link("profile", "profile", "id", "deviceprofile")
+        .link("profilename", "profile", "name", "deviceprofile")
+        .link("device", "addressable", "id", "addressable")
+        .link("addressablename", "addressable", "name", "addressable");
+    resource("scheduleevent").link("addressable", "addressable", "id", "addressable")
+        .link("addressablename", "addressable", "name", "addressable")
+        .link("servicename", "service", null, "deviceservice");
+    resource("provisionwatcher").link("profile", "profile", "id", "deviceprofile")
+        .link("profilename", "profile", "name", "deviceprofile")
+        .link("service", "service", "id", "deviceservice")
+        .link("servicename", "service", "name", "deviceservice")
+        .query("identifier", (node, args) -> text(node.path("identifiers"), args.get(0))
+            .equals(join(args.subList(1, args.size()))));
+    resource("devicereport").link("devicename", "device", null, "device")
+        .view("valueDescriptorsFor", args -> valueDescriptors(join(args)));
+
+    embedded("deviceservice", "addressable", "addressable");
+    embedded("device", "addressable", "addressable");
+    embedded("device", "profile", "deviceprofile");
+    embedded("device", "service", "deviceservice");
+    embedded("scheduleevent", "addressable", "addressable");
+    embedded("provisionwatcher", "profile", "deviceprofile");
+    embedded("provisionwatcher", "service", "deviceservice");
+    byName("scheduleevent", "schedule", "schedule");
+    byName("devicereport", "device", "device");
+    byName("devicereport", "event", "scheduleevent");
+  }
+
+  boolean isResource(String name) {
+    return resources.containsKey(name);
+  }
+
+  Reply handle(String name, String method, List<String> path, String body) throws IOException {
+    Resource resource = resources.get(name);
+    switch (method) {
+      case "GET":
+        return get(resource, path);
+      case "POST":
+        return path.isEmpty() ? add(resource, body) : Reply.notFound();
+      case "PUT":
+        return path.isEmpty() ? update(resource, body) : updateField(resource, path);
+      case "DELETE":
+        return delete(resource, path);
+      default:
+        return new Reply(405, "", TEXT);
+    }
+  }
+
+  void clear() {
+    lock.writeLock().lock();
+    try {
+      resources.values().forEach(resource -> resource.byId.clear());
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private Reply get(Resource resource, List<String> path) throws IOException {
+    lock.readLock().lock();
+    try {
+      if (path.isEmpty()) {
+        return json(expandAll(resource, resource.byId.values()));
+      }
+      if ("name".equals(path.get(0)) && path.size() > 1) {
+        List<ObjectNode> named = findAllByName(resource, join(path.subList(1, path.size())));
+        if (resource.namesShared) {
+          return json(expandAll(resource, named));
+        }
+        return named.isEmpty() ? Reply.notFound() : json(expand(resource, named.get(0)));
+      }
+      if (path.size() == 1) {
+        ObjectNode node = resource.byId.get(path.get(0));
+        return node == null ? Reply.notFound() : json(expand(resource, node));
+      }
+      List<String> args = path.subList(1, path.size());
+      Function<List<String>, Object> view = resource.views.get(path.get(0));
+      if (view != null) {
+        Object result = view.apply(args);
+        return result == null ? Reply.notFound() : json(result);
+      }
+      BiPredicate<ObjectNode, List<String>> query = resource.queries.get(path.get(0));
+      if (query == null) {
+        return Reply.notFound();
+      }
+      // like core-metadata, a query for the objects linked to an unknown object is not found
+      String[] target = resource.targets.get(path.get(0));
+      if (target != null && !exists(resources.get(target[0]), target[1], join(args))) {
+        return Reply.notFound();
+      }
+      List<ObjectNode> matches = new ArrayList<>();
+      for (ObjectNode node : expandAll(resource, resource.byId.values())) {
+        if (query.test(node, args)) {
+          matches.add(node);
+        }
+      }
+      return json(matches);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private Reply add(Resource resource, String body) throws IOException {
+    ObjectNode node = parse(body);
+    if (node == null) {
+      return new Reply(400, "request body is not a JSON object", TEXT);
+    }
+    String name = node.path("name").asText();
+    lock.writeLock().lock();
+    try {
+      if (name.isEmpty()) {
+        return new Reply(409, "name is required", TEXT);
+      }
+      if (!resource.namesShared && !findAllByName(resource, name).isEmpty()) {
+        return new Reply(409, "name is already in use: " + name, TEXT);
+      }
+      Reply rejected = resolveReferences(resource, node, true);
+      if (rejected != null) {
+        return rejected;
+      }
+      String id = String.format("%024x", ids.incrementAndGet());
+      long now = System.currentTimeMillis();
+      node.put("id", id);
+      node.put("created", now);
+      node.put("modified", now);
+      resource.byId.put(id, node);
+      return new Reply(200, id, TEXT);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private Reply update(Resource resource, String body) throws IOException {
+    ObjectNode changes = parse(body);
+    if (changes == null) {
+      return new Reply(400, "request body is not a JSON object", TEXT);
+    }
+    lock.writeLock().lock();
+    try {
+      ObjectNode node = resource.byId.get(changes.path("id").asText());
+      if (node == null) {
+        List<ObjectNode> named = findAllByName(resource, changes.path("name").asText());
+        node = named.isEmpty() ? null : named.get(0);
+      }
+      if (node == null) {
+        return Reply.notFound();
+      }
+      String name = changes.path("name").asText();
+      if (!resource.namesShared && !name.isEmpty() && !name.equals(text(node, "name"))
+          && !findAllByName(resource, name).isEmpty()) {
+        return new Reply(409, "name is already in use: " + name, TEXT);
+      }
+      Reply rejected = resolveReferences(resource, changes, false);
+      if (rejected != null) {
+        return rejected;
+      }
+      for (Iterator<Map.Entry<String, JsonNode>> fields = changes.fields(); fields.hasNext();) {
+        Map.Entry<String, JsonNode> field = fields.next();
+        if (!field.getValue().isNull() && !"id".equals(field.getKey())
+            && !"created".equals(field.getKey())) {
+          node.set(field.getKey(), field.getValue());
+        }
+      }
+      node.put("modified", System.currentTimeMillis());
+      return new Reply(200, "true", TEXT);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  // PUT /{id}/{field}/{value}[/{notify}] and /name/{name}/{field}/{value}[/{notify}]
+  private Reply updateField(Resource resource, List<String> path) {
+    if (!resource.fieldUpdates || path.size() < 3) {
+      return Reply.notFound();
+    }
+    int fieldIndex = FIELD_UPDATES.containsKey(path.get(path.size() - 2)) ? path.size() - 2
+        : path.size() - 3;
+    String field = FIELD_UPDATES.get(path.get(fieldIndex));
+    if (field == null || fieldIndex < 1) {
+      return Reply.notFound();
+    }
+    String value = path.get(fieldIndex + 1);
+    lock.writeLock().lock();
+    try {
+      ObjectNode node;
+      if ("name".equals(path.get(0)) && fieldIndex > 1) {
+        List<ObjectNode> named = findAllByName(resource, join(path.subList(1, fieldIndex)));
+        node = named.isEmpty() ? null : named.get(0);
+      } else {
+        node = resource.byId.get(path.get(0));
+      }
+      if (node == null) {
+        return Reply.notFound();
+      }
+      if (field.startsWith("last")) {
+        try {
+          node.put(field, Long.parseLong(value));
+        } catch (NumberFormatException e) {
+          return new Reply(400, "not a time: " + value, TEXT);
+        }
+      } else {
+        node.put(field, value);
+      }
+      node.put("modified", System.currentTimeMillis());
+      return new Reply(200, "true", TEXT);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  // DELETE /id/{id} and /name/{name}
+  private Reply delete(Resource resource, List<String> path) {
+    if (path.size() < 2) {
+      return Reply.notFound();
+    }
+    lock.writeLock().lock();
+    try {
+      ObjectNode node = null;
+      if ("id".equals(path.get(0)) && path.size() == 2) {
+        node = resource.byId.get(path.get(1));
+      } else if ("name".equals(path.get(0))) {
+        List<ObjectNode> named = findAllByName(resource, join(path.subList(1, path.size())));
+        node = named.isEmpty() ? null : named.get(0);
+      }
+      if (node == null) {
+        return Reply.notFound();
+      }
+      for (Reference reference : references) {
+        if (reference.to == resource && isReferenced(reference, node)) {
+          return new Reply(409, "still in use by a " + reference.from.name, TEXT);
+        }
+      }
+      resource.byId.remove(text(node, "id"));
+      return new Reply(200, "true", TEXT);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private Reply resolveReferences(Resource resource, ObjectNode node, boolean required) {
+    for (Reference reference : references) {
+      if (reference.from != resource) {
+        continue;
+      }
+      JsonNode value = node.get(reference.field);
+      if (value == null || value.isNull()) {
+        if (required) {
+          return new Reply(409, reference.field + " is required", TEXT);
+        }
+        continue;
+      }
+      ObjectNode target = reference.embedded ? find(reference.to, value)
+          : first(findAllByName(reference.to, value.asText()));
+      if (target == null) {
+        return new Reply(409, "unknown " + reference.field + ": " + value, TEXT);
+      }
+      if (reference.embedded) {
+        ObjectNode link = mapper.createObjectNode();
+        link.put("id", text(target, "id"));
+        link.put("name", text(target, "name"));
+        node.set(reference.field, link);
+      }
+    }
+    return null;
+  }
+
+  private boolean isReferenced(Reference reference, ObjectNode target) {
+    for (ObjectNode node : reference.from.byId.values()) {
+      String value = reference.embedded ? text(node.path(reference.field), "id")
+          : text(node, reference.field);
+      if (value.equals(text(target, reference.embedded ? "id" : "name"))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean exists(Resource resource, String field, String value) {
+    for (ObjectNode node : resource.byId.values()) {
+      if (value.equals(text(node, field))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private ObjectNode find(Resource resource, JsonNode link) {
+    ObjectNode node = resource.byId.get(link.path("id").asText());
+    return node != null ? node : first(findAllByName(resource, link.path("name").asText()));
+  }
+
+  private List<ObjectNode> findAllByName(Resource resource, String name) {
+    List<ObjectNode> named = new ArrayList<>();
+    for (ObjectNode node : resource.byId.values()) {
+      if (name.equals(text(node, "name"))) {
+        named.add(node);
+      }
+    }
+    return named;
+  }
+
+  // replaces every embedded link by a copy of the object it refers to, as it is now
+  private ObjectNode expand(Resource resource, ObjectNode node) {
+    ObjectNode copy = node.deepCopy();
+    for (Reference reference : references) {
+      if (reference.from == resource && reference.embedded) {
+        ObjectNode target = reference.to.byId.get(text(node.path(reference.field), "id"));
+        if (target != null) {
+          copy.set(reference.field, expand(reference.to, target));
+        }
+      }
+    }
+    return copy;
+  }
+
+  private List<ObjectNode> expandAll(Resource resource, Iterable<ObjectNode> nodes) {
+    List<ObjectNode> expanded = new ArrayList<>();
+    for (ObjectNode node : nodes) {
+      expanded.add(expand(resource, node));
+    }
+    return expanded;
+  }
+
+  private Object deviceAddressables(String field, String value) {
+    Resource services = resources.get("deviceservice");
+    Resource devices = resources.get("device");
+    boolean known = services.byId.values().stream()
+        .anyMatch(service -> value.equals(text(service, field)));
+    if (!known) {
+      return null;
+    }
+    Map<String, ObjectNode> addressables = new LinkedHashMap<>();
+    for (ObjectNode device : expandAll(devices, devices.byId.values())) {
+      ObjectNode addressable = (ObjectNode) device.get("addressable");
+      if (value.equals(text(device.path("service"), field)) && addressable != null) {
+        addressables.putIfAbsent(text(addressable, "id"), addressable);
+      }
+    }
+    return new ArrayList<>(addressables.values());
+  }
+
+  private Object valueDescriptors(String deviceName) {
+    Set<String> names = new LinkedHashSet<>();
+    for (ObjectNode report : resources.get("devicereport").byId.values()) {
+      if (deviceName.equals(text(report, "device"))) {
+        report.path("expected").forEach(expected -> names.add(expected.asText()));
+      }
+    }
+    return new ArrayList<>(names);
+  }
+
+  private ObjectNode parse(String body) {
+    try {
+      JsonNode node = mapper.readTree(body);
+      return node instanceof ObjectNode ? (ObjectNode) node : null;
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  private Reply json(Object value) throws IOException {
+    return new Reply(200, mapper.writeValueAsString(value), JSON);
+  }
+
+  private Resource resource(String name) {
+    Resource resource = new Resource(name);
+    resources.put(name, resource);
+    return resource;
+  }
+
+  private void embedded(String from, String field, String to) {
+    references.add(new Reference(resources.get(from), field, resources.get(to), true));
+  }
+
+  private void byName(String from, String field, String to) {
+    references.add(new Reference(resources.get(from), field, resources.get(to), false));
+  }
+
+  private static BiPredicate<ObjectNode, List<String>> equal(String field) {
+    return (node, args) -> text(node, field).equals(join(args));
+  }
+
+  private static BiPredicate<ObjectNode, List<String>> nested(String field, String nested) {
+    return (node, args) -> text(node.path(field), nested).equals(join(args));
+  }
+
+  private static BiPredicate<ObjectNode, List<String>> contains(String field) {
+    return (node, args) -> {
+      for (JsonNode value : node.path(field)) {
+        if (value.asText().equals(join(args))) {
+          return true;
+        }
+      }
+      return false;
+    };
+  }
+
+  private static String text(JsonNode node, String field) {
+    JsonNode value = node.path(field);
+    return value.isValueNode() ? value.asText() : "";
+  }
+
+  private static String join(List<String> segments) {
+    return String.join("/", segments);
+  }
+
+  private static ObjectNode first(List<ObjectNode> nodes) {
+    return nodes.isEmpty() ? null : nodes.get(0);
+  }
+
+  static final class Reply {
+
+    final int status;
+    final String body;
+    final String contentType;
+
+    Reply(int status, String body, String contentType) {
+      this.status = status;
+      this.body = body;
+      this.contentType = contentType;
+    }
+
+    static Reply notFound() {
+      return new Reply(404, "", TEXT);
+    }
+
+  }
+
+  private static final class Resource {
+
+    private final String name;
+    private final Map<String, ObjectNode> byId = new LinkedHashMap<>();
+    private final Map<String, BiPredicate<ObjectNode, List<String>>> queries = new HashMap<>();
+    private final Map<String, Function<List<String>, Object>> views = new HashMap<>();
+    // query segment to the resource and field of the object the query refers to
+    private final Map<String, String[]> targets = new HashMap<>();
+    // commands are the only objects whose names need not be unique
+    private boolean namesShared;
+    private boolean fieldUpdates;
+
+    Resource(String name) {
+      this.name = name;
+    }
+
+    Resource query(String segment, BiPredicate<ObjectNode, List<String>> query) {
+      queries.put(segment, query);
+      return this;
+    }
+
+    /**
+     * Adds a query for the objects linked to another one, by a field of an embedded object or,
+     * when nestedField is null, by a field holding the name of the other object.
+     */
+    Resource link(String segment, String field, String nestedField, String target) {
+      targets.put(segment, new String[] {target, nestedField == null ? "name" : nestedField});
+      return query(segment, nestedField == null ? equal(field) : nested(field, nestedField));
+    }
+
+    Resource view(String segment, Function<List<String>, Object> view) {
+      views.put(segment, view);
+      return this;
+    }
+
+    Resource withFieldUpdates() {
+      fieldUpdates = true;
+      return this;
+    }
+
+  }
+
+  private static final class Reference {
+
+    private final Resource from;
+    private final String field;
+    private final Resource to;
+    // embedded objects are matched by id, plain fields hold the name of the object
+    private final boolean embedded;
+
+    Reference(Resource from, String field, Resource to, boolean embedded) {
+      this.from = from;
+      this.field = field;
+      this.to = to;
+      this.embedded = embedded;
+    }
+
+  }
+
+}